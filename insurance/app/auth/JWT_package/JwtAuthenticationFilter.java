@@ -1,8 +1,11 @@
 package com.insurance.app.auth.JWT_package;
 
 import java.io.IOException;
+import java.util.Collections;
 
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.security.web.authentication.WebAuthenticationDetailsSource;
@@ -21,10 +24,19 @@ import jakarta.servlet.http.HttpServletResponse;
 public class JwtAuthenticationFilter extends OncePerRequestFilter {
     private final JwtTokenProvider tokenProvider;
     private final CustomUserDetailsService userDetailsService;
+    private final TokenRevocationRegistry revocationRegistry;
+    private final RevokedTokenStore revokedTokenStore;
+    //when true the role claim is trusted and no user row is loaded per request
+    private final boolean claimsOnly;
 
-    public JwtAuthenticationFilter(JwtTokenProvider tokenProvider, CustomUserDetailsService userDetailsService) {
+    public JwtAuthenticationFilter(JwtTokenProvider tokenProvider, CustomUserDetailsService userDetailsService,
+                                   TokenRevocationRegistry revocationRegistry, RevokedTokenStore revokedTokenStore,
+                                   @Value("${jwt.claims-only:false}") boolean claimsOnly) {
         this.tokenProvider = tokenProvider;
         this.userDetailsService = userDetailsService;
+        this.revocationRegistry = revocationRegistry;
+        this.revokedTokenStore = revokedTokenStore;
+        this.claimsOnly = claimsOnly;
     }
 
     @Override
@@ -39,14 +51,17 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
 
         String token = header.substring(7);
         try {
-            String email = tokenProvider.getEmailFromToken(token);
-            if (SecurityContextHolder.getContext().getAuthentication() == null) {
-                UserDetails userDetails = userDetailsService.loadUserByUsername(email);
-
-                if (tokenProvider.validateToken(token, userDetails)) {
-                    UsernamePasswordAuthenticationToken authentication =
-                            new UsernamePasswordAuthenticationToken(userDetails, null, userDetails.getAuthorities());
-                    
+            JwtPrincipal principal = tokenProvider.parseToken(token);
+            //refresh tokens are only good for /api/auth/refresh
+            if (SecurityContextHolder.getContext().getAuthentication() == null
+                    && !principal.isRefreshToken()
+                    && !revokedTokenStore.isRevoked(principal.getTokenId())
+                    && !revocationRegistry.isRevoked(principal)) {
+                UsernamePasswordAuthenticationToken authentication = claimsOnly
+                        ? authenticateFromClaims(principal)
+                        : authenticateFromUserDetails(principal);
+
+                if (authentication != null) {
                     SecurityContextHolder.getContext().setAuthentication(authentication);
                 }
             }
@@ -55,5 +70,21 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
         }
         filterChain.doFilter(request, response);
     }
-}
 
+    private UsernamePasswordAuthenticationToken authenticateFromClaims(JwtPrincipal principal) {
+        if (principal.getRole() == null || principal.isExpired()) {
+            return null;
+        }
+        String role = "ROLE_" + principal.getRole().name();
+        return new UsernamePasswordAuthenticationToken(principal.getSubject(), null,
+                Collections.singletonList(new SimpleGrantedAuthority(role)));
+    }
+
+    private UsernamePasswordAuthenticationToken authenticateFromUserDetails(JwtPrincipal principal) {
+        UserDetails userDetails = userDetailsService.loadUserByUsername(principal.getSubject());
+        if (!tokenProvider.validateToken(principal, userDetails)) {
+            return null;
+        }
+        return new UsernamePasswordAuthenticationToken(userDetails, null, userDetails.getAuthorities());
+    }
+}
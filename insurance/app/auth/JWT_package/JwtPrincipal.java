@@ -0,0 +1,22 @@
+package com.insurance.app.auth.JWT_package;
+
+import java.util.Date;
+
+import com.insurance.app.auth.entity.Roles;
+
+import lombok.Value;
+
+//result of a single verified parse of a bearer token, reused for the whole request
+@Value
+public class JwtPrincipal {
+    String tokenId;
+    String subject;
+    Roles role;
+    boolean refreshToken;
+    Date issuedAt;
+    Date expiration;
+
+    public boolean isExpired() {
+        return expiration != null && expiration.before(new Date());
+    }
+}
@@ -1,16 +1,29 @@
 package com.insurance.app.auth.JWT_package;
 
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
 import java.util.Base64;
 import java.util.Date;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Properties;
+import java.util.UUID;
 
 import javax.crypto.SecretKey;
 
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.stereotype.Component;
 
 import com.insurance.app.auth.entity.Roles;
 
+import io.jsonwebtoken.Claims;
 import io.jsonwebtoken.Jwts;
 import io.jsonwebtoken.SignatureAlgorithm;
 import io.jsonwebtoken.security.Keys;
@@ -19,45 +32,131 @@ import jakarta.annotation.PostConstruct;
 @Component
 public class JwtTokenProvider {
 	
-	@Value("${jwt.secret}")
+	private static final Logger log = LoggerFactory.getLogger(JwtTokenProvider.class);
+
+	@Value("${jwt.secret:}")
     private String jwtSecret;
 
-    private SecretKey secretKey;
+    //optional properties file: "active=<kid>" plus one "key.<kid>=<base64 secret>" per key
+    @Value("${jwt.key-file:}")
+    private String keyFile;
+
+    //24h as before refresh tokens existed; the web client does not call /refresh yet,
+    //so shorten this only once it does
+    @Value("${jwt.access-token-minutes:1440}")
+    private long accessTokenMinutes;
+
+    @Value("${jwt.refresh-token-days:7}")
+    private long refreshTokenDays;
+
+    private volatile SigningKeyRing keyRing;
+
+    private static final String TOKEN_TYPE = "typ";
+    private static final String REFRESH = "refresh";
 
     @PostConstruct
     public void init() {
-        byte[] keyBytes = Base64.getDecoder().decode(jwtSecret);
-        secretKey = Keys.hmacShaKeyFor(keyBytes);
+        keyRing = loadKeyRing();
     }
 
-    private static final long EXPIRATION = 24 * 60 * 60 * 1000L;
+    //picks up a rotated key file without a restart; a broken file keeps the current keys
+    @Scheduled(fixedDelayString = "${jwt.key-reload-ms:30000}")
+    public void reloadKeysIfChanged() {
+        if (keyFile == null || keyFile.isEmpty()) {
+            return;
+        }
+        try {
+            long lastModified = Files.getLastModifiedTime(Paths.get(keyFile)).toMillis();
+            if (lastModified != keyRing.getSourceLastModified()) {
+                keyRing = loadKeyRing();
+                log.info("Reloaded JWT signing keys, active kid {}", keyRing.getActiveKid());
+            }
+        } catch (IOException | RuntimeException ex) {
+            log.warn("Could not reload JWT signing keys from {}: {}", keyFile, ex.getMessage());
+        }
+    }
+
+    private SigningKeyRing loadKeyRing() {
+        Map<String, SecretKey> keys = new HashMap<>();
+        if (jwtSecret != null && !jwtSecret.isEmpty()) {
+            keys.put(SigningKeyRing.DEFAULT_KID, Keys.hmacShaKeyFor(Base64.getDecoder().decode(jwtSecret)));
+        }
+        if (keyFile == null || keyFile.isEmpty()) {
+            return new SigningKeyRing(SigningKeyRing.DEFAULT_KID, keys, 0L);
+        }
 
+        Path path = Paths.get(keyFile);
+        Properties props = new Properties();
+        long lastModified;
+        try (InputStream in = Files.newInputStream(path)) {
+            lastModified = Files.getLastModifiedTime(path).toMillis();
+            props.load(in);
+        } catch (IOException ex) {
+            throw new IllegalStateException("Could not read JWT key file " + keyFile, ex);
+        }
+        for (String name : props.stringPropertyNames()) {
+            if (name.startsWith("key.")) {
+                String secret = props.getProperty(name).trim();
+                keys.put(name.substring(4), Keys.hmacShaKeyFor(Base64.getDecoder().decode(secret)));
+            }
+        }
+        String active = props.getProperty("active", SigningKeyRing.DEFAULT_KID).trim();
+        return new SigningKeyRing(active, keys, lastModified);
+    }
+
+    public long getTokenValidityMillis() {
+        return accessTokenMinutes * 60 * 1000L;
+    }
+
+    public long getRefreshTokenValidityMillis() {
+        return refreshTokenDays * 24 * 60 * 60 * 1000L;
+    }
+
+    //short-lived access token sent on every request
     public String generateToken(String email, Roles role) {
+        return buildToken(email, role, "access", getTokenValidityMillis());
+    }
+
+    //long-lived token only accepted by /api/auth/refresh
+    public String generateRefreshToken(String email, Roles role) {
+        return buildToken(email, role, REFRESH, getRefreshTokenValidityMillis());
+    }
+
+    private String buildToken(String email, Roles role, String type, long validityMillis) {
         Date now = new Date();
-        Date expiry = new Date(now.getTime() + EXPIRATION);
+        Date expiry = new Date(now.getTime() + validityMillis);
+        SigningKeyRing ring = keyRing;
 
         return Jwts.builder()
+                .setHeaderParam("kid", ring.getActiveKid())
+                .setId(UUID.randomUUID().toString())
                 .setSubject(email)
                 .claim("role", role.name())
+                .claim(TOKEN_TYPE, type)
                 .setIssuedAt(now)
                 .setExpiration(expiry)
-                .signWith(secretKey, SignatureAlgorithm.HS512)
+                .signWith(ring.getActiveKey(), SignatureAlgorithm.HS512)
                 .compact();
     }
 
+    //verifies the signature once and returns everything the filter needs
+    public JwtPrincipal parseToken(String token) {
+        Claims claims = keyRing.getParser().parseClaimsJws(token).getBody();
+        String role = claims.get("role", String.class);
+        return new JwtPrincipal(claims.getId(), claims.getSubject(), role != null ? Roles.valueOf(role) : null,
+                REFRESH.equals(claims.get(TOKEN_TYPE, String.class)),
+                claims.getIssuedAt(), claims.getExpiration());
+    }
+
     public String getEmailFromToken(String token) {
-        return Jwts.parserBuilder().setSigningKey(secretKey).build()
-                .parseClaimsJws(token).getBody().getSubject();
+        return parseToken(token).getSubject();
     }
 
     public boolean validateToken(String token, UserDetails userDetails) {
-        String email = getEmailFromToken(token);
-        return (email.equals(userDetails.getUsername()) && !isTokenExpired(token));
+        return validateToken(parseToken(token), userDetails);
     }
 
-    private boolean isTokenExpired(String token) {
-        Date expiration = Jwts.parserBuilder().setSigningKey(secretKey).build()
-                .parseClaimsJws(token).getBody().getExpiration();
-        return expiration.before(new Date());
+    public boolean validateToken(JwtPrincipal principal, UserDetails userDetails) {
+        return principal.getSubject().equals(userDetails.getUsername()) && !principal.isExpired();
     }
 }
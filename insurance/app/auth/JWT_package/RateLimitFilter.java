@@ -0,0 +1,125 @@
+package com.insurance.app.auth.JWT_package;
+
+import java.io.IOException;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpStatus;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+
+//token-bucket limiter that runs right after JwtAuthenticationFilter.
+//anonymous calls are keyed by client IP, authenticated ones by token subject.
+//each bucket is a single AtomicLong holding its "theoretical arrival time" (GCRA),
+//so admission is one CAS and a bucket that has fully refilled can simply be dropped.
+//idle buckets are swept only by the scheduled task; while the map is full, new keys
+//share one overflow bucket per group until a sweep makes room.
+@Component
+public class RateLimitFilter extends OncePerRequestFilter {
+
+    private final boolean enabled;
+    private final int maxKeys;
+    private final Group auth;
+    private final Group admin;
+    private final Group api;
+
+    private final Map<String, AtomicLong> buckets = new ConcurrentHashMap<>();
+
+    public RateLimitFilter(@Value("${rate-limit.enabled:true}") boolean enabled,
+                           @Value("${rate-limit.max-keys:1000000}") int maxKeys,
+                           @Value("${rate-limit.auth.per-minute:30}") int authPerMinute,
+                           @Value("${rate-limit.auth.burst:10}") int authBurst,
+                           @Value("${rate-limit.admin.per-minute:300}") int adminPerMinute,
+                           @Value("${rate-limit.admin.burst:50}") int adminBurst,
+                           @Value("${rate-limit.api.per-minute:600}") int apiPerMinute,
+                           @Value("${rate-limit.api.burst:100}") int apiBurst) {
+        this.enabled = enabled;
+        this.maxKeys = maxKeys;
+        this.auth = new Group("auth", authPerMinute, authBurst);
+        this.admin = new Group("admin", adminPerMinute, adminBurst);
+        this.api = new Group("api", apiPerMinute, apiBurst);
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        if (!enabled) {
+            filterChain.doFilter(request, response);
+            return;
+        }
+
+        String path = request.getRequestURI();
+        Group group = path.startsWith("/api/auth/") ? auth
+                : path.startsWith("/api/admin/") ? admin
+                : api;
+
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        String key = group == auth || authentication == null || !authentication.isAuthenticated()
+                ? "ip:" + request.getRemoteAddr()
+                : "sub:" + authentication.getName();
+
+        long waitNanos = tryAcquire(group, group.name + '|' + key);
+        if (waitNanos > 0) {
+            response.setStatus(HttpStatus.TOO_MANY_REQUESTS.value());
+            response.setHeader("Retry-After", String.valueOf(Math.max(1, TimeUnit.NANOSECONDS.toSeconds(waitNanos))));
+            response.setContentType("text/plain");
+            response.getWriter().write("Too many requests, please retry shortly");
+            return;
+        }
+        filterChain.doFilter(request, response);
+    }
+
+    //returns 0 when admitted, otherwise how long until the next request would be
+    private long tryAcquire(Group group, String key) {
+        AtomicLong tat = buckets.get(key);
+        if (tat == null) {
+            tat = buckets.size() >= maxKeys
+                    ? group.overflow
+                    : buckets.computeIfAbsent(key, k -> new AtomicLong(System.nanoTime()));
+        }
+        while (true) {
+            long now = System.nanoTime();
+            long current = tat.get();
+            long start = current - now > 0 ? current : now;
+            long next = start + group.intervalNanos;
+            long ahead = next - now;
+            if (ahead > group.toleranceNanos) {
+                return ahead - group.toleranceNanos;
+            }
+            if (tat.compareAndSet(current, next)) {
+                return 0;
+            }
+        }
+    }
+
+    //a bucket whose arrival time has passed is full again, identical to a new one
+    @Scheduled(fixedDelayString = "${rate-limit.evict-ms:60000}")
+    public void evictIdleBuckets() {
+        long now = System.nanoTime();
+        buckets.values().removeIf(tat -> tat.get() - now <= 0);
+    }
+
+    private static final class Group {
+        private final String name;
+        private final long intervalNanos;
+        private final long toleranceNanos;
+        private final AtomicLong overflow = new AtomicLong(System.nanoTime());
+
+        private Group(String name, int perMinute, int burst) {
+            this.name = name;
+            this.intervalNanos = TimeUnit.MINUTES.toNanos(1) / Math.max(1, perMinute);
+            this.toleranceNanos = intervalNanos * Math.max(1, burst);
+        }
+    }
+}
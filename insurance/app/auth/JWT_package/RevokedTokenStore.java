@@ -0,0 +1,157 @@
+package com.insurance.app.auth.JWT_package;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import jakarta.annotation.PostConstruct;
+
+//revoked token ids (jti). a bloom filter answers the common "not revoked" case
+//without touching the map or allocating; hits are confirmed against the exact set.
+//every revocation is appended to a file so the set survives a restart.
+@Component
+public class RevokedTokenStore {
+
+    private static final int BLOOM_BITS = 1 << 20;
+    private static final int BLOOM_HASHES = 4;
+
+    //jti -> expiry millis, so entries can be dropped once the token is dead anyway
+    private final Map<String, Long> revoked = new ConcurrentHashMap<>();
+    private volatile AtomicLongArray bloom = new AtomicLongArray(BLOOM_BITS / 64);
+    private final Path file;
+
+    public RevokedTokenStore(@Value("${jwt.revocation-file:data/revoked-tokens.txt}") String file) {
+        this.file = Paths.get(file);
+    }
+
+    @PostConstruct
+    public void load() {
+        if (!Files.exists(file)) {
+            return;
+        }
+        long now = System.currentTimeMillis();
+        try {
+            for (String line : Files.readAllLines(file, StandardCharsets.UTF_8)) {
+                int space = line.indexOf(' ');
+                if (space <= 0) {
+                    continue;
+                }
+                long expiresAt = Long.parseLong(line.substring(space + 1).trim());
+                if (expiresAt > now) {
+                    add(line.substring(0, space), expiresAt);
+                }
+            }
+        } catch (IOException | NumberFormatException ex) {
+            throw new IllegalStateException("Could not read revoked token file " + file, ex);
+        }
+    }
+
+    //true only for the caller that newly revoked the id, so spending a token is a single step
+    public boolean revoke(String tokenId, long expiresAt) {
+        if (tokenId == null || expiresAt <= System.currentTimeMillis()) {
+            return false;
+        }
+        synchronized (this) {
+            if (revoked.putIfAbsent(tokenId, expiresAt) != null) {
+                return false;
+            }
+            setBits(bloom, tokenId);
+            try {
+                if (file.getParent() != null) {
+                    Files.createDirectories(file.getParent());
+                }
+                Files.writeString(file, tokenId + " " + expiresAt + System.lineSeparator(), StandardCharsets.UTF_8,
+                        StandardOpenOption.CREATE, StandardOpenOption.APPEND);
+            } catch (IOException ex) {
+                throw new UncheckedIOException("Could not persist revoked token", ex);
+            }
+        }
+        return true;
+    }
+
+    public boolean isRevoked(String tokenId) {
+        if (tokenId == null) {
+            return false;
+        }
+        AtomicLongArray bits = bloom;
+        int h1 = tokenId.hashCode();
+        int h2 = secondHash(tokenId);
+        for (int i = 0; i < BLOOM_HASHES; i++) {
+            int bit = (h1 + i * h2) & (BLOOM_BITS - 1);
+            if ((bits.get(bit >>> 6) & (1L << bit)) == 0) {
+                return false;
+            }
+        }
+        return revoked.containsKey(tokenId);
+    }
+
+    public int size() {
+        return revoked.size();
+    }
+
+    //expired ids are dropped, the bloom filter is rebuilt and the file compacted
+    @Scheduled(fixedDelayString = "${jwt.revocation-purge-ms:3600000}")
+    public synchronized void purgeExpired() {
+        long now = System.currentTimeMillis();
+        revoked.values().removeIf(expiresAt -> expiresAt <= now);
+
+        AtomicLongArray rebuilt = new AtomicLongArray(BLOOM_BITS / 64);
+        List<String> lines = new ArrayList<>(revoked.size());
+        revoked.forEach((tokenId, expiresAt) -> {
+            setBits(rebuilt, tokenId);
+            lines.add(tokenId + " " + expiresAt);
+        });
+        bloom = rebuilt;
+
+        try {
+            if (file.getParent() != null) {
+                Files.createDirectories(file.getParent());
+            }
+            Path tmp = file.resolveSibling(file.getFileName() + ".tmp");
+            Files.write(tmp, lines, StandardCharsets.UTF_8);
+            Files.move(tmp, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (IOException ex) {
+            throw new UncheckedIOException("Could not compact revoked token file", ex);
+        }
+    }
+
+    private void add(String tokenId, long expiresAt) {
+        //map first, so a bloom hit always finds the entry
+        revoked.put(tokenId, expiresAt);
+        setBits(bloom, tokenId);
+    }
+
+    private static void setBits(AtomicLongArray bits, String tokenId) {
+        int h1 = tokenId.hashCode();
+        int h2 = secondHash(tokenId);
+        for (int i = 0; i < BLOOM_HASHES; i++) {
+            int bit = (h1 + i * h2) & (BLOOM_BITS - 1);
+            long mask = 1L << bit;
+            bits.accumulateAndGet(bit >>> 6, mask, (a, b) -> a | b);
+        }
+    }
+
+    //FNV-1a over the chars, independent enough from String.hashCode for double hashing
+    private static int secondHash(String s) {
+        int h = 0x811c9dc5;
+        for (int i = 0; i < s.length(); i++) {
+            h ^= s.charAt(i);
+            h *= 0x01000193;
+        }
+        return h | 1;
+    }
+}
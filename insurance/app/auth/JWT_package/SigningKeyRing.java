@@ -0,0 +1,70 @@
+package com.insurance.app.auth.JWT_package;
+
+import java.security.Key;
+import java.util.Map;
+
+import javax.crypto.SecretKey;
+
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwsHeader;
+import io.jsonwebtoken.JwtException;
+import io.jsonwebtoken.JwtParser;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.SigningKeyResolverAdapter;
+
+//immutable snapshot of the signing keys; swapped as a whole on reload.
+//the parser is built once per snapshot and picks the key from the "kid" header.
+final class SigningKeyRing {
+
+    static final String DEFAULT_KID = "default";
+
+    private final String activeKid;
+    private final Map<String, SecretKey> keys;
+    private final JwtParser parser;
+    private final long sourceLastModified;
+
+    SigningKeyRing(String activeKid, Map<String, SecretKey> keys, long sourceLastModified) {
+        if (!keys.containsKey(activeKid)) {
+            throw new IllegalStateException("Active signing key '" + activeKid + "' is not configured");
+        }
+        this.activeKid = activeKid;
+        this.keys = Map.copyOf(keys);
+        this.sourceLastModified = sourceLastModified;
+        this.parser = Jwts.parserBuilder()
+                .setSigningKeyResolver(new SigningKeyResolverAdapter() {
+                    @Override
+                    public Key resolveSigningKey(JwsHeader header, Claims claims) {
+                        return keyFor(header.getKeyId());
+                    }
+                })
+                .build();
+    }
+
+    String getActiveKid() {
+        return activeKid;
+    }
+
+    SecretKey getActiveKey() {
+        return keys.get(activeKid);
+    }
+
+    JwtParser getParser() {
+        return parser;
+    }
+
+    long getSourceLastModified() {
+        return sourceLastModified;
+    }
+
+    //tokens minted before rotation carry no kid and were signed with jwt.secret
+    private SecretKey keyFor(String kid) {
+        SecretKey key = keys.get(kid != null ? kid : DEFAULT_KID);
+        if (key == null && kid == null) {
+            key = getActiveKey();
+        }
+        if (key == null) {
+            throw new JwtException("Unknown signing key id: " + kid);
+        }
+        return key;
+    }
+}
@@ -0,0 +1,48 @@
+package com.insurance.app.auth.JWT_package;
+
+import java.util.Collection;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.springframework.stereotype.Component;
+
+//remembers, per email, the moment after which older tokens are no longer honoured.
+//entries only need to outlive the tokens they cover, so the map stays small.
+@Component
+public class TokenRevocationRegistry {
+
+    private final Map<String, Long> revokedBefore = new ConcurrentHashMap<>();
+    private final JwtTokenProvider tokenProvider;
+
+    public TokenRevocationRegistry(JwtTokenProvider tokenProvider) {
+        this.tokenProvider = tokenProvider;
+    }
+
+    public void revokeTokensFor(String email) {
+        long now = System.currentTimeMillis();
+        revokedBefore.put(email, now);
+        purgeOlderThan(now - tokenProvider.getTokenValidityMillis());
+    }
+
+    public void revokeTokensFor(Collection<String> emails) {
+        long now = System.currentTimeMillis();
+        for (String email : emails) {
+            revokedBefore.put(email, now);
+        }
+        purgeOlderThan(now - tokenProvider.getTokenValidityMillis());
+    }
+
+    public boolean isRevoked(JwtPrincipal principal) {
+        Long cutoff = revokedBefore.get(principal.getSubject());
+        if (cutoff == null) {
+            return false;
+        }
+        //iat is stored in whole seconds, so compare at that precision
+        return principal.getIssuedAt() == null
+                || principal.getIssuedAt().getTime() / 1000 <= cutoff / 1000;
+    }
+
+    private void purgeOlderThan(long cutoff) {
+        revokedBefore.values().removeIf(revokedAt -> revokedAt < cutoff);
+    }
+}
@@ -1,7 +1,9 @@
 package com.insurance.app.auth.controller;
 
 import java.util.List;
+import java.util.Map;
 
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.security.core.Authentication;
@@ -13,13 +15,23 @@ import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.multipart.MultipartFile;
 
 import org.springframework.web.bind.annotation.*;
 
 import com.insurance.app.auth.entity.Roles;
 import com.insurance.app.auth.service.AdminService;
+import com.insurance.app.auth.service.CustomUserDetailsService;
+import com.insurance.app.auth.service.PasswordHashingService;
+import com.insurance.app.auth.service.UserImportService;
+import com.insurance.app.auth.dto.BulkUserStatusRequest;
+import com.insurance.app.auth.dto.BulkUserStatusResult;
+import com.insurance.app.auth.dto.UserImportStatus;
+import com.insurance.app.auth.dto.UserPageResponse;
 import com.insurance.app.auth.dto.UserProfileResponse;
 
+import jakarta.validation.Valid;
+
 
 @RestController
 @RequestMapping("/api/admin")
@@ -31,9 +43,16 @@ import com.insurance.app.auth.dto.UserProfileResponse;
 public class AdminController {
 
     private final AdminService adminService;
+    private final CustomUserDetailsService userDetailsService;
+    private final PasswordHashingService passwordHashingService;
+    private final UserImportService userImportService;
 
-    public AdminController(AdminService adminService) {
+    public AdminController(AdminService adminService, CustomUserDetailsService userDetailsService,
+                           PasswordHashingService passwordHashingService, UserImportService userImportService) {
         this.adminService = adminService;
+        this.userDetailsService = userDetailsService;
+        this.passwordHashingService = passwordHashingService;
+        this.userImportService = userImportService;
     }
 
     @GetMapping("/profile")
@@ -47,6 +66,15 @@ public class AdminController {
         return ResponseEntity.ok(adminService.getAllUsers());
     }
 
+    @GetMapping("/users")
+    public ResponseEntity<UserPageResponse> listUsers(
+            @RequestParam(required = false) Long after,
+            @RequestParam(defaultValue = "50") int size,
+            @RequestParam(required = false) Roles role,
+            @RequestParam(required = false) Boolean active) {
+        return ResponseEntity.ok(adminService.listUsers(after, size, role, active));
+    }
+
     @GetMapping("/pending-admins")
     public ResponseEntity<List<UserProfileResponse>> getPendingAdmins() {
         return ResponseEntity.ok(adminService.listInactiveUsersByRole(Roles.ADMIN));
@@ -75,10 +103,42 @@ public class AdminController {
         return ResponseEntity.ok(status);
     }
 
+    @PostMapping("/users/bulk-status")
+    public ResponseEntity<List<BulkUserStatusResult>> bulkUpdateStatus(@Valid @RequestBody BulkUserStatusRequest req) {
+        return ResponseEntity.ok(adminService.bulkUpdateStatus(req));
+    }
+
+    @PostMapping(value = "/users/import", consumes = MediaType.MULTIPART_FORM_DATA_VALUE)
+    public ResponseEntity<UserImportStatus> importUsers(@RequestParam MultipartFile file) {
+        return ResponseEntity.status(202).body(userImportService.startImport(file));
+    }
+
+    @GetMapping("/users/import/{jobId}")
+    public ResponseEntity<UserImportStatus> getImportStatus(@PathVariable String jobId) {
+        return ResponseEntity.ok(userImportService.getStatus(jobId));
+    }
+
+    @GetMapping("/search-users")
+    public ResponseEntity<List<UserProfileResponse>> searchUsers(
+            @RequestParam String q,
+            @RequestParam(defaultValue = "20") int limit) {
+        return ResponseEntity.ok(adminService.searchUsers(q, limit));
+    }
+
     @GetMapping("/find-user")
     public ResponseEntity<UserProfileResponse> findUser(
             @RequestParam(required = false) String email,
             @RequestParam(required = false) Long id) {
         return ResponseEntity.ok(adminService.findUserByEmailOrId(email, id));
     }
+
+    @GetMapping("/auth-cache/stats")
+    public ResponseEntity<Map<String, Long>> getAuthCacheStats() {
+        return ResponseEntity.ok(userDetailsService.getCacheStats());
+    }
+
+    @GetMapping("/auth-hashing/stats")
+    public ResponseEntity<Map<String, Long>> getAuthHashingStats() {
+        return ResponseEntity.ok(passwordHashingService.getStats());
+    }
 }
\ No newline at end of file
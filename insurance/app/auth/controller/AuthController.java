@@ -14,11 +14,13 @@ import org.springframework.web.bind.annotation.*;
 
 import com.insurance.app.auth.entity.Roles;
 import com.insurance.app.auth.service.AdminService;
+import com.insurance.app.auth.service.RefreshTokenService;
 import com.insurance.app.auth.service.UserService;
 import com.insurance.app.auth.dto.ChangePasswordRequest;
 import com.insurance.app.auth.dto.ForgotPasswordRequest;
 import com.insurance.app.auth.dto.LoginRequest;
 import com.insurance.app.auth.dto.LoginResponse;
+import com.insurance.app.auth.dto.RefreshTokenRequest;
 import com.insurance.app.auth.dto.RegistrationRequest;
 import com.insurance.app.auth.exceptionHandling.AccessForbiddenException;
 import com.insurance.app.auth.exceptionHandling.UserNotFoundException;
@@ -33,10 +35,13 @@ public class AuthController {
 
     private final UserService userService;
     private final AdminService adminService;
+    private final RefreshTokenService refreshTokenService;
 
-    public AuthController(UserService userService, AdminService adminService) {
+    public AuthController(UserService userService, AdminService adminService,
+                          RefreshTokenService refreshTokenService) {
         this.userService = userService;
         this.adminService = adminService;
+        this.refreshTokenService = refreshTokenService;
     }
 
     @PostMapping("/register")
@@ -61,6 +66,21 @@ public class AuthController {
         return ResponseEntity.ok(adminService.loginAdmin(req));
     }
 
+    @PostMapping("/refresh")
+    public ResponseEntity<LoginResponse> refresh(@RequestBody RefreshTokenRequest req) {
+        return ResponseEntity.ok(refreshTokenService.refresh(req.getRefreshToken()));
+    }
+
+    @PostMapping("/logout")
+    public ResponseEntity<String> logout(
+            @RequestHeader(value = "Authorization", required = false) String authorization,
+            @RequestBody(required = false) RefreshTokenRequest req) {
+        String accessToken = authorization != null && authorization.startsWith("Bearer ")
+                ? authorization.substring(7) : null;
+        refreshTokenService.logout(accessToken, req != null ? req.getRefreshToken() : null);
+        return ResponseEntity.ok("Logged out successfully");
+    }
+
     @PostMapping("/forgot-password")
     public ResponseEntity<String> forgotPassword(@RequestBody ForgotPasswordRequest req) {
         
@@ -0,0 +1,25 @@
+package com.insurance.app.auth.dto;
+
+import java.util.List;
+
+import com.insurance.app.auth.entity.Roles;
+
+import jakarta.validation.constraints.NotNull;
+
+//lombok
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class BulkUserStatusRequest {
+	//either explicit ids, or null to apply to every user of the given role
+	private List<Long> ids;
+	private Roles role;
+	//target state: true activates, false deactivates; required, so a missing field never deactivates anyone
+	@NotNull(message="active must be true or false")
+	private Boolean active;
+}
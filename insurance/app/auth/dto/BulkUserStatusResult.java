@@ -0,0 +1,16 @@
+package com.insurance.app.auth.dto;
+
+//lombok
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+
+@AllArgsConstructor
+@NoArgsConstructor
+@Data
+public class BulkUserStatusResult {
+	private Long id;
+	//UPDATED, UNCHANGED, NOT_FOUND or ROLE_MISMATCH
+	private String outcome;
+}
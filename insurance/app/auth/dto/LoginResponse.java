@@ -16,4 +16,5 @@ public class LoginResponse {
     private String email;
     private Roles role;
     private String token;
+    private String refreshToken;
 }
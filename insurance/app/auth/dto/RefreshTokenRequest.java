@@ -0,0 +1,14 @@
+package com.insurance.app.auth.dto;
+
+import jakarta.validation.constraints.NotNull;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class RefreshTokenRequest {
+	@NotNull(message="Refresh token cannot be Null")
+	private String refreshToken;
+}
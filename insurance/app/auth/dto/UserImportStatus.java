@@ -0,0 +1,23 @@
+package com.insurance.app.auth.dto;
+
+import java.util.List;
+
+//lombok
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+
+@AllArgsConstructor
+@NoArgsConstructor
+@Data
+public class UserImportStatus {
+	private String jobId;
+	//QUEUED, RUNNING, COMPLETED or FAILED
+	private String state;
+	private long processed;
+	private long imported;
+	private long failed;
+	//"row N: reason", capped so a bad file cannot blow up memory
+	private List<String> errors;
+}
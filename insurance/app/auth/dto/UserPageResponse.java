@@ -0,0 +1,18 @@
+package com.insurance.app.auth.dto;
+
+import java.util.List;
+
+//lombok
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+
+@AllArgsConstructor
+@NoArgsConstructor
+@Data
+public class UserPageResponse {
+	private List<UserProfileResponse> users;
+	//pass back as "after" to get the next page, null when there is none
+	private Long nextCursor;
+}
@@ -0,0 +1,7 @@
+package com.insurance.app.auth.exceptionHandling;
+
+public class TooManyRequestsException extends RuntimeException{
+	public TooManyRequestsException(String message) {
+		super(message);
+	}
+}
@@ -1,12 +1,19 @@
 package com.insurance.app.auth.repository;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
 
 
 //Entity package
+import com.insurance.app.auth.dto.UserProfileResponse;
 import com.insurance.app.auth.entity.Roles;
 import com.insurance.app.auth.entity.Users;
 
@@ -14,4 +21,40 @@ public interface UserRepository extends JpaRepository<Users, Long> {
     Optional<Users> findByEmail(String email);
     List<Users> findAllByRoleAndIsActiveFalse(Roles role);
     Optional<Users> findById(Long id);
+
+    @Query("SELECT u.id FROM Users u WHERE u.email = :email")
+    Optional<Long> findIdByEmail(@Param("email") String email);
+
+    //keyset page straight into the DTO, no managed entities; the Pageable only carries the limit
+    @Query("SELECT new com.insurance.app.auth.dto.UserProfileResponse(u.id, u.name, u.email, u.role, u.isActive, u.panNumber) "
+            + "FROM Users u WHERE u.id > :afterId "
+            + "AND (:role IS NULL OR u.role = :role) "
+            + "AND (:active IS NULL OR u.isActive = :active) "
+            + "ORDER BY u.id")
+    List<UserProfileResponse> findProfilesAfter(@Param("afterId") Long afterId, @Param("role") Roles role,
+                                                @Param("active") Boolean active, Pageable limit);
+
+    @Query("SELECT new com.insurance.app.auth.dto.UserProfileResponse(u.id, u.name, u.email, u.role, u.isActive, u.panNumber) "
+            + "FROM Users u WHERE u.id IN :ids")
+    List<UserProfileResponse> findProfilesByIdIn(@Param("ids") Collection<Long> ids);
+
+    @Query("SELECT u.email FROM Users u WHERE u.email IN :emails")
+    List<String> findExistingEmails(@Param("emails") Collection<String> emails);
+
+    @Query("SELECT new com.insurance.app.auth.dto.UserProfileResponse(u.id, u.name, u.email, u.role, u.isActive, u.panNumber) "
+            + "FROM Users u WHERE u.email IN :emails")
+    List<UserProfileResponse> findProfilesByEmailIn(@Param("emails") Collection<String> emails);
+
+    //one statement per chunk of ids
+    @Transactional
+    @Modifying
+    @Query("UPDATE Users u SET u.isActive = :active WHERE u.id IN :ids")
+    int updateActiveByIdIn(@Param("ids") Collection<Long> ids, @Param("active") boolean active);
+
+    //only replaces the hash if nobody changed the password in the meantime
+    @Transactional
+    @Modifying
+    @Query("UPDATE Users u SET u.password = :newHash WHERE u.id = :id AND u.password = :oldHash")
+    int updatePasswordIfUnchanged(@Param("id") Long id, @Param("oldHash") String oldHash,
+                                  @Param("newHash") String newHash);
 }
\ No newline at end of file
@@ -1,28 +1,34 @@
 package com.insurance.app.auth.service;
 
 import java.nio.file.AccessDeniedException;
+import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
-import java.util.stream.Collectors;
 
+import org.springframework.data.domain.PageRequest;
 import org.springframework.security.authentication.AuthenticationManager;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.core.Authentication;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.security.core.userdetails.UsernameNotFoundException;
-import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
 
 //my auth packages and config
 import com.insurance.app.auth.entity.Roles;
 import com.insurance.app.auth.entity.Users;
 import com.insurance.app.auth.JWT_package.JwtTokenProvider;
+import com.insurance.app.auth.JWT_package.TokenRevocationRegistry;
 import com.insurance.app.auth.repository.UserRepository;
+import com.insurance.app.auth.dto.BulkUserStatusRequest;
+import com.insurance.app.auth.dto.BulkUserStatusResult;
 import com.insurance.app.auth.dto.ChangePasswordRequest;
 import com.insurance.app.auth.dto.ForgotPasswordRequest;
 import com.insurance.app.auth.dto.LoginRequest;
 import com.insurance.app.auth.dto.LoginResponse;
 import com.insurance.app.auth.dto.RegistrationRequest;
+import com.insurance.app.auth.dto.UserPageResponse;
 import com.insurance.app.auth.dto.UserProfileResponse;
 import com.insurance.app.auth.exceptionHandling.AccessForbiddenException;
 
@@ -35,25 +41,36 @@ import com.insurance.app.auth.exceptionHandling.WrongStatusException;
 
 @Service
 public class AdminService {
+    private static final int MAX_PAGE_SIZE = 500;
+    private static final int BULK_CHUNK_SIZE = 500;
+
     private final UserRepository userRepository;
-    private final PasswordEncoder passwordEncoder;
+    private final PasswordHashingService passwordHashingService;
     private final AuthenticationManager authenticationManager;
     private final JwtTokenProvider jwtTokenProvider;
+    private final CustomUserDetailsService userDetailsService;
+    private final TokenRevocationRegistry revocationRegistry;
+    private final UserSearchIndex userSearchIndex;
 
-    public AdminService(UserRepository userRepository, PasswordEncoder passwordEncoder,
-                       AuthenticationManager authenticationManager, JwtTokenProvider jwtTokenProvider) {
+    public AdminService(UserRepository userRepository, PasswordHashingService passwordHashingService,
+                       AuthenticationManager authenticationManager, JwtTokenProvider jwtTokenProvider,
+                       CustomUserDetailsService userDetailsService, TokenRevocationRegistry revocationRegistry,
+                       UserSearchIndex userSearchIndex) {
         this.userRepository = userRepository;
-        this.passwordEncoder = passwordEncoder;
+        this.passwordHashingService = passwordHashingService;
         this.authenticationManager = authenticationManager;
         this.jwtTokenProvider = jwtTokenProvider;
+        this.userDetailsService = userDetailsService;
+        this.revocationRegistry = revocationRegistry;
+        this.userSearchIndex = userSearchIndex;
     }
     
     
     //login
     public LoginResponse loginAdmin(LoginRequest req)throws AccessForbiddenException{
-        Authentication authentication = authenticationManager.authenticate(
+        Authentication authentication = passwordHashingService.call(() -> authenticationManager.authenticate(
                 new UsernamePasswordAuthenticationToken(req.getEmail(), req.getPassword())
-        );
+        ));
 
         SecurityContextHolder.getContext().setAuthentication(authentication);
         Users user = userRepository.findByEmail(req.getEmail())
@@ -65,8 +82,10 @@ public class AdminService {
         if (!user.isActive()) {
             throw new WrongStatusException("Admin account not activated");
         }
+        passwordHashingService.rehashIfCostChanged(user, req.getPassword());
         String token = jwtTokenProvider.generateToken(user.getEmail(), user.getRole());
-        return new LoginResponse(user.getId(),user.getName(), user.getEmail(), user.getRole(), token);
+        String refreshToken = jwtTokenProvider.generateRefreshToken(user.getEmail(), user.getRole());
+        return new LoginResponse(user.getId(),user.getName(), user.getEmail(), user.getRole(), token, refreshToken);
     }
     
     //load profile
@@ -84,12 +103,13 @@ public class AdminService {
         Users user = userRepository.findByEmail(req.getEmail())
                 .orElseThrow(() -> new UserNotFoundException("User not found"));
         
-        if (!passwordEncoder.matches(req.getOldPassword(), user.getPassword())) {
+        if (!passwordHashingService.matches(req.getOldPassword(), user.getPassword())) {
             throw new WrongStatusException("Old password incorrect");
         }
         
-        user.setPassword(passwordEncoder.encode(req.getNewPassword()));
+        user.setPassword(passwordHashingService.encode(req.getNewPassword()));
         userRepository.save(user);
+        userDetailsService.invalidate(user.getEmail());
     }
     
     //reset password / forgot password
@@ -99,8 +119,9 @@ public class AdminService {
         if (!user.getPanNumber().equals(req.getPanNumber())) {
             throw new WrongStatusException("Invalid PAN Number");
         }
-        user.setPassword(passwordEncoder.encode(req.getNewPassword()));
+        user.setPassword(passwordHashingService.encode(req.getNewPassword()));
         userRepository.save(user);
+        userDetailsService.invalidate(user.getEmail());
     }
     
     
@@ -115,6 +136,8 @@ public class AdminService {
         }
         admin.setActive(true);
         userRepository.save(admin);
+        userDetailsService.invalidate(admin.getEmail());
+        userSearchIndex.put(admin);
         return "Admin account activated successfully";
     }
     
@@ -124,15 +147,37 @@ public class AdminService {
                 .orElseThrow(() -> new UserNotFoundException("User Not Found"));
         user.setActive(false);
         userRepository.save(user);
+        userDetailsService.invalidate(user.getEmail());
+        userSearchIndex.put(user);
+        //tokens already handed out must stop working too
+        revocationRegistry.revokeTokensFor(user.getEmail());
         return "User account deactivated";
     }
     
     //get list of accounts that are inactive
     public List<UserProfileResponse> listInactiveUsersByRole(Roles role) {
-        List<Users> users = userRepository.findAllByRoleAndIsActiveFalse(role);
-        return users.stream()
-                .map(u -> new UserProfileResponse(u.getId(),u.getName(), u.getEmail(), u.getRole(), u.isActive(), u.getPanNumber()))
-                .collect(Collectors.toList());
+        return collectAllProfiles(role, false);
+    }
+    
+    //one keyset page of users, optionally filtered by role and active flag
+    public UserPageResponse listUsers(Long afterId, int size, Roles role, Boolean active) {
+        int limit = Math.min(Math.max(size, 1), MAX_PAGE_SIZE);
+        List<UserProfileResponse> users = userRepository.findProfilesAfter(
+                afterId != null ? afterId : 0L, role, active, PageRequest.of(0, limit));
+        Long nextCursor = users.size() == limit ? users.get(users.size() - 1).getId() : null;
+        return new UserPageResponse(users, nextCursor);
+    }
+    
+    //walks the keyset pages for callers that still want the whole list
+    private List<UserProfileResponse> collectAllProfiles(Roles role, Boolean active) {
+        List<UserProfileResponse> all = new ArrayList<>();
+        UserPageResponse page = listUsers(null, MAX_PAGE_SIZE, role, active);
+        all.addAll(page.getUsers());
+        while (page.getNextCursor() != null) {
+            page = listUsers(page.getNextCursor(), MAX_PAGE_SIZE, role, active);
+            all.addAll(page.getUsers());
+        }
+        return all;
     }
     
     //  find user by id or mail
@@ -164,13 +209,13 @@ public class AdminService {
 		Users user = new Users();
 	    user.setName(req.getName());
 	    user.setEmail(req.getEmail());
-	    user.setPassword(passwordEncoder.encode(req.getPassword()));
+	    user.setPassword(passwordHashingService.encode(req.getPassword()));
 	    user.setPanNumber(req.getPanNumber());
 	    user.setRole(req.getRole());
 	   
 	    user.setActive(req.getRole() == Roles.CUSTOMER);
 
-	    userRepository.save(user);
+	    userSearchIndex.put(userRepository.save(user));
 	    return "User Registration Successful";
 		
 	}
@@ -185,13 +230,83 @@ public class AdminService {
         
         user.setActive(true);
         userRepository.save(user);
+        userDetailsService.invalidate(user.getEmail());
+        userSearchIndex.put(user);
         return "Customer activated successfully";
     }
+    //activates or deactivates many users with one UPDATE per chunk
+    public List<BulkUserStatusResult> bulkUpdateStatus(BulkUserStatusRequest req) {
+        List<BulkUserStatusResult> results = new ArrayList<>();
+        if (req.getIds() != null && !req.getIds().isEmpty()) {
+            List<Long> ids = req.getIds();
+            for (int from = 0; from < ids.size(); from += BULK_CHUNK_SIZE) {
+                List<Long> chunk = ids.subList(from, Math.min(from + BULK_CHUNK_SIZE, ids.size()));
+                Map<Long, UserProfileResponse> found = new HashMap<>();
+                for (UserProfileResponse u : userRepository.findProfilesByIdIn(chunk)) {
+                    found.put(u.getId(), u);
+                }
+                List<UserProfileResponse> ordered = new ArrayList<>(chunk.size());
+                for (Long id : chunk) {
+                    UserProfileResponse u = found.get(id);
+                    if (u == null) {
+                        results.add(new BulkUserStatusResult(id, "NOT_FOUND"));
+                    } else {
+                        ordered.add(u);
+                    }
+                }
+                applyStatusChunk(ordered, req.getRole(), req.getActive(), results);
+            }
+        } else if (req.getRole() != null) {
+            //only rows not already in the target state come back, so the cursor just moves forward
+            Long after = 0L;
+            List<UserProfileResponse> page;
+            do {
+                page = userRepository.findProfilesAfter(after, req.getRole(), !req.getActive(),
+                        PageRequest.of(0, BULK_CHUNK_SIZE));
+                applyStatusChunk(page, req.getRole(), req.getActive(), results);
+                if (!page.isEmpty()) {
+                    after = page.get(page.size() - 1).getId();
+                }
+            } while (page.size() == BULK_CHUNK_SIZE);
+        } else {
+            throw new WrongStatusException("Either ids or role must be provided");
+        }
+        return results;
+    }
+    
+    private void applyStatusChunk(List<UserProfileResponse> users, Roles role, boolean active,
+                                  List<BulkUserStatusResult> results) {
+        List<Long> toUpdate = new ArrayList<>();
+        List<String> emails = new ArrayList<>();
+        for (UserProfileResponse u : users) {
+            if (role != null && u.getRole() != role) {
+                results.add(new BulkUserStatusResult(u.getId(), "ROLE_MISMATCH"));
+            } else if (u.isActive() == active) {
+                results.add(new BulkUserStatusResult(u.getId(), "UNCHANGED"));
+            } else {
+                toUpdate.add(u.getId());
+                emails.add(u.getEmail());
+                results.add(new BulkUserStatusResult(u.getId(), "UPDATED"));
+            }
+        }
+        if (toUpdate.isEmpty()) {
+            return;
+        }
+        userRepository.updateActiveByIdIn(toUpdate, active);
+        userDetailsService.invalidateAll(emails);
+        userSearchIndex.setActive(toUpdate, active);
+        if (!active) {
+            revocationRegistry.revokeTokensFor(emails);
+        }
+    }
+    
+    //typeahead over email, name and PAN prefixes
+    public List<UserProfileResponse> searchUsers(String query, int limit) {
+        return userSearchIndex.search(query, limit);
+    }
+    
     public List<UserProfileResponse> getAllUsers() {
-        List<Users> allUsers = userRepository.findAll();
-        return allUsers.stream()
-            .map(this::convertToUserProfileResponse)
-            .collect(Collectors.toList());
+        return collectAllProfiles(null, null);
     }
     private UserProfileResponse convertToUserProfileResponse(Users user) {
         return new UserProfileResponse(
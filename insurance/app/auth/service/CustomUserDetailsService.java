@@ -1,7 +1,12 @@
 package com.insurance.app.auth.service;
 
+import java.util.Collection;
 import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
 
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.security.core.authority.SimpleGrantedAuthority;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.security.core.userdetails.UserDetailsService;
@@ -17,20 +22,118 @@ import com.insurance.app.auth.repository.UserRepository;
 @Service
 public class CustomUserDetailsService implements UserDetailsService {
     private final UserRepository userRepository;
+    private final int maxSize;
+    private final long ttlMillis;
 
-    public CustomUserDetailsService(UserRepository repo) {
+    //access-ordered so the least recently used email is dropped first when full
+    private final Map<String, CachedUser> cache;
+
+    private final AtomicLong hits = new AtomicLong();
+    private final AtomicLong misses = new AtomicLong();
+    private final AtomicLong evictions = new AtomicLong();
+    //bumped on every invalidation so a load that raced with it is not cached
+    private long generation;
+
+    public CustomUserDetailsService(UserRepository repo,
+                                    @Value("${auth.user-cache.max-size:10000}") int maxSize,
+                                    @Value("${auth.user-cache.ttl-seconds:300}") long ttlSeconds) {
         this.userRepository = repo;
+        this.maxSize = maxSize;
+        this.ttlMillis = ttlSeconds * 1000;
+        this.cache = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, CachedUser> eldest) {
+                if (size() > CustomUserDetailsService.this.maxSize) {
+                    evictions.incrementAndGet();
+                    return true;
+                }
+                return false;
+            }
+        };
     }
 
     @Override
     public UserDetails loadUserByUsername(String email) throws UsernameNotFoundException {
+        long now = System.currentTimeMillis();
+        long loadGeneration;
+        synchronized (cache) {
+            loadGeneration = generation;
+            CachedUser cached = cache.get(email);
+            if (cached != null) {
+                if (cached.expiresAt > now) {
+                    hits.incrementAndGet();
+                    return cached.toUserDetails();
+                }
+                cache.remove(email);
+                evictions.incrementAndGet();
+            }
+        }
+        misses.incrementAndGet();
+
     	Users user = userRepository.findByEmail(email)
                 .orElseThrow(() -> new UsernameNotFoundException("User not found"));
         String role = "ROLE_" + user.getRole().name();
-        return new org.springframework.security.core.userdetails.User(
-                user.getEmail(),
-                user.getPassword(),
-                Collections.singletonList(new SimpleGrantedAuthority(role))
-        );
+        CachedUser loaded = new CachedUser(user.getEmail(), user.getPassword(), role, now + ttlMillis);
+        synchronized (cache) {
+            if (loadGeneration == generation) {
+                cache.put(email, loaded);
+            }
+        }
+        return loaded.toUserDetails();
+    }
+
+    //must be called whenever a user's password, role or active flag changes
+    public void invalidate(String email) {
+        synchronized (cache) {
+            generation++;
+            cache.remove(email);
+        }
+    }
+
+    //bulk variant, takes the lock once for the whole batch
+    public void invalidateAll(Collection<String> emails) {
+        synchronized (cache) {
+            generation++;
+            for (String email : emails) {
+                cache.remove(email);
+            }
+        }
+    }
+
+    public Map<String, Long> getCacheStats() {
+        long size;
+        synchronized (cache) {
+            size = cache.size();
+        }
+        Map<String, Long> stats = new LinkedHashMap<>();
+        stats.put("size", size);
+        stats.put("hits", hits.get());
+        stats.put("misses", misses.get());
+        stats.put("evictions", evictions.get());
+        return stats;
+    }
+
+    //holds plain values; a fresh User is handed out each time because
+    //the authentication manager erases credentials on the instance it gets
+    private static final class CachedUser {
+        private final String email;
+        private final String password;
+        private final String role;
+        private final long expiresAt;
+
+        private CachedUser(String email, String password, String role, long expiresAt) {
+            this.email = email;
+            this.password = password;
+            this.role = role;
+            this.expiresAt = expiresAt;
+        }
+
+        private UserDetails toUserDetails() {
+            return new org.springframework.security.core.userdetails.User(
+                    email,
+                    password,
+                    Collections.singletonList(new SimpleGrantedAuthority(role))
+            );
+        }
     }
 }
@@ -0,0 +1,157 @@
+package com.insurance.app.auth.service;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.stereotype.Service;
+
+import com.insurance.app.auth.entity.Users;
+import com.insurance.app.auth.exceptionHandling.TooManyRequestsException;
+import com.insurance.app.auth.repository.UserRepository;
+
+import jakarta.annotation.PreDestroy;
+
+//runs BCrypt work on its own small pool so a login storm cannot take every servlet thread.
+//when the queue is full callers are turned away with a 429 instead of waiting.
+@Service
+public class PasswordHashingService {
+
+    private final PasswordEncoder passwordEncoder;
+    private final UserRepository userRepository;
+    private final CustomUserDetailsService userDetailsService;
+    private final int strength;
+    private final ThreadPoolExecutor executor;
+
+    private final AtomicLong completed = new AtomicLong();
+    private final AtomicLong rejected = new AtomicLong();
+    private final AtomicLong totalHashNanos = new AtomicLong();
+    private final AtomicLong rehashed = new AtomicLong();
+
+    public PasswordHashingService(PasswordEncoder passwordEncoder, UserRepository userRepository,
+                                  CustomUserDetailsService userDetailsService,
+                                  @Value("${auth.bcrypt.strength:10}") int strength,
+                                  @Value("${auth.hashing.threads:0}") int threads,
+                                  @Value("${auth.hashing.queue-capacity:200}") int queueCapacity) {
+        this.passwordEncoder = passwordEncoder;
+        this.userRepository = userRepository;
+        this.userDetailsService = userDetailsService;
+        this.strength = strength;
+        int poolSize = threads > 0 ? threads : Runtime.getRuntime().availableProcessors();
+        AtomicInteger threadCount = new AtomicInteger();
+        this.executor = new ThreadPoolExecutor(poolSize, poolSize, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queueCapacity),
+                r -> {
+                    Thread t = new Thread(r, "password-hash-" + threadCount.incrementAndGet());
+                    t.setDaemon(true);
+                    return t;
+                },
+                new ThreadPoolExecutor.AbortPolicy());
+    }
+
+    public String encode(String rawPassword) {
+        return call(() -> passwordEncoder.encode(rawPassword));
+    }
+
+    public boolean matches(String rawPassword, String encodedPassword) {
+        return call(() -> passwordEncoder.matches(rawPassword, encodedPassword));
+    }
+
+    //called after a successful login while the raw password is still at hand.
+    //best effort: if the pool is busy the upgrade simply waits for a later login.
+    public void rehashIfCostChanged(Users user, String rawPassword) {
+        String storedHash = user.getPassword();
+        int storedCost = costOf(storedHash);
+        if (storedCost < 0 || storedCost == strength) {
+            return;
+        }
+        try {
+            executor.execute(() -> {
+                String newHash = passwordEncoder.encode(rawPassword);
+                if (userRepository.updatePasswordIfUnchanged(user.getId(), storedHash, newHash) > 0) {
+                    userDetailsService.invalidate(user.getEmail());
+                    rehashed.incrementAndGet();
+                }
+            });
+        } catch (RejectedExecutionException ex) {
+            // skipped, the hash stays valid at its old cost
+        }
+    }
+
+    //reads the cost out of a "$2a$10$..." style BCrypt hash, -1 if it is not one
+    private static int costOf(String encoded) {
+        if (encoded == null || encoded.length() < 7 || encoded.charAt(0) != '$' || encoded.charAt(3) != '$') {
+            return -1;
+        }
+        try {
+            return Integer.parseInt(encoded.substring(4, 6));
+        } catch (NumberFormatException ex) {
+            return -1;
+        }
+    }
+
+    //runs any hashing-bound work (e.g. AuthenticationManager.authenticate) on the pool
+    public <T> T call(Supplier<T> work) {
+        Future<T> future;
+        try {
+            future = executor.submit(() -> {
+                long start = System.nanoTime();
+                try {
+                    return work.get();
+                } finally {
+                    totalHashNanos.addAndGet(System.nanoTime() - start);
+                    completed.incrementAndGet();
+                }
+            });
+        } catch (RejectedExecutionException ex) {
+            rejected.incrementAndGet();
+            throw new TooManyRequestsException("Server is busy, please retry shortly");
+        }
+
+        try {
+            return future.get();
+        } catch (InterruptedException ex) {
+            future.cancel(true);
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while waiting for password hashing", ex);
+        } catch (ExecutionException ex) {
+            Throwable cause = ex.getCause();
+            if (cause instanceof RuntimeException) {
+                throw (RuntimeException) cause;
+            }
+            if (cause instanceof Error) {
+                throw (Error) cause;
+            }
+            throw new IllegalStateException(cause);
+        }
+    }
+
+    public Map<String, Long> getStats() {
+        long done = completed.get();
+        Map<String, Long> stats = new LinkedHashMap<>();
+        stats.put("poolSize", (long) executor.getPoolSize());
+        stats.put("active", (long) executor.getActiveCount());
+        stats.put("queueDepth", (long) executor.getQueue().size());
+        stats.put("completed", done);
+        stats.put("rejected", rejected.get());
+        stats.put("rehashed", rehashed.get());
+        stats.put("bcryptStrength", (long) strength);
+        stats.put("avgHashMicros", done == 0 ? 0L : totalHashNanos.get() / done / 1000);
+        return stats;
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdown();
+    }
+}
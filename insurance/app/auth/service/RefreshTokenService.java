@@ -0,0 +1,78 @@
+package com.insurance.app.auth.service;
+
+import org.springframework.stereotype.Service;
+
+import com.insurance.app.auth.JWT_package.JwtPrincipal;
+import com.insurance.app.auth.JWT_package.JwtTokenProvider;
+import com.insurance.app.auth.JWT_package.RevokedTokenStore;
+import com.insurance.app.auth.JWT_package.TokenRevocationRegistry;
+import com.insurance.app.auth.dto.LoginResponse;
+import com.insurance.app.auth.entity.Users;
+import com.insurance.app.auth.exceptionHandling.AccessForbiddenException;
+import com.insurance.app.auth.exceptionHandling.UserNotFoundException;
+import com.insurance.app.auth.exceptionHandling.WrongStatusException;
+import com.insurance.app.auth.repository.UserRepository;
+
+import io.jsonwebtoken.JwtException;
+
+@Service
+public class RefreshTokenService {
+    private final JwtTokenProvider jwtTokenProvider;
+    private final RevokedTokenStore revokedTokenStore;
+    private final TokenRevocationRegistry revocationRegistry;
+    private final UserRepository userRepository;
+
+    public RefreshTokenService(JwtTokenProvider jwtTokenProvider, RevokedTokenStore revokedTokenStore,
+                               TokenRevocationRegistry revocationRegistry, UserRepository userRepository) {
+        this.jwtTokenProvider = jwtTokenProvider;
+        this.revokedTokenStore = revokedTokenStore;
+        this.revocationRegistry = revocationRegistry;
+        this.userRepository = userRepository;
+    }
+
+    //exchanges a refresh token for a new access/refresh pair; the old refresh token is spent
+    public LoginResponse refresh(String refreshToken) {
+        JwtPrincipal principal = parse(refreshToken);
+        if (!principal.isRefreshToken() || revocationRegistry.isRevoked(principal)) {
+            throw new AccessForbiddenException("Refresh token is no longer valid");
+        }
+        //spend the token first: of two concurrent refreshes with it, only one gets past this
+        if (!revokedTokenStore.revoke(principal.getTokenId(), principal.getExpiration().getTime())) {
+            throw new AccessForbiddenException("Refresh token is no longer valid");
+        }
+
+        //refresh is rare enough to re-check the account against the database
+        Users user = userRepository.findByEmail(principal.getSubject())
+                .orElseThrow(() -> new UserNotFoundException("User not found"));
+        if (!user.isActive()) {
+            throw new AccessForbiddenException("User Account inactive");
+        }
+
+        String token = jwtTokenProvider.generateToken(user.getEmail(), user.getRole());
+        String newRefreshToken = jwtTokenProvider.generateRefreshToken(user.getEmail(), user.getRole());
+        return new LoginResponse(user.getId(), user.getName(), user.getEmail(), user.getRole(), token, newRefreshToken);
+    }
+
+    //revokes whichever of the two tokens were supplied; invalid or expired ones need nothing
+    public void logout(String accessToken, String refreshToken) {
+        for (String token : new String[] { accessToken, refreshToken }) {
+            if (token == null || token.isEmpty()) {
+                continue;
+            }
+            try {
+                JwtPrincipal principal = jwtTokenProvider.parseToken(token);
+                revokedTokenStore.revoke(principal.getTokenId(), principal.getExpiration().getTime());
+            } catch (JwtException | IllegalArgumentException ex) {
+                // nothing to revoke
+            }
+        }
+    }
+
+    private JwtPrincipal parse(String token) {
+        try {
+            return jwtTokenProvider.parseToken(token);
+        } catch (JwtException | IllegalArgumentException ex) {
+            throw new WrongStatusException("Invalid token");
+        }
+    }
+}
@@ -0,0 +1,382 @@
+package com.insurance.app.auth.service;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.multipart.MultipartFile;
+
+import com.fasterxml.jackson.databind.MappingIterator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.insurance.app.auth.dto.RegistrationRequest;
+import com.insurance.app.auth.dto.UserImportStatus;
+import com.insurance.app.auth.dto.UserProfileResponse;
+import com.insurance.app.auth.entity.Roles;
+import com.insurance.app.auth.exceptionHandling.UserNotFoundException;
+import com.insurance.app.auth.exceptionHandling.WrongStatusException;
+import com.insurance.app.auth.repository.UserRepository;
+
+import jakarta.annotation.PreDestroy;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+
+//streams a CSV or JSON file of registrations into the users table in chunks:
+//one duplicate-email query per chunk, BCrypt on a small pool of its own, one JDBC batch insert.
+//runs in the background; callers poll the job for progress and row errors.
+@Service
+public class UserImportService {
+
+    private static final int CHUNK_SIZE = 500;
+    private static final int MAX_REPORTED_ERRORS = 1000;
+    private static final int MAX_RETAINED_JOBS = 100;
+    private static final String INSERT_SQL =
+            "INSERT INTO users (name, email, password, role, is_active, pan_number) VALUES (?, ?, ?, ?, ?, ?)";
+
+    private final UserRepository userRepository;
+    private final PasswordEncoder passwordEncoder;
+    private final JdbcTemplate jdbcTemplate;
+    private final ObjectMapper objectMapper;
+    private final Validator validator;
+    private final UserSearchIndex userSearchIndex;
+    private final TransactionTemplate transactionTemplate;
+    private final ExecutorService hashExecutor;
+
+    private final ExecutorService executor = Executors.newSingleThreadExecutor(r -> {
+        Thread t = new Thread(r, "user-import");
+        t.setDaemon(true);
+        return t;
+    });
+    private final Map<String, ImportJob> jobs = new ConcurrentHashMap<>();
+
+    public UserImportService(UserRepository userRepository, PasswordEncoder passwordEncoder,
+                             JdbcTemplate jdbcTemplate, ObjectMapper objectMapper, Validator validator,
+                             UserSearchIndex userSearchIndex, TransactionTemplate transactionTemplate,
+                             @Value("${users.import.hash-threads:2}") int hashThreads) {
+        this.userRepository = userRepository;
+        this.passwordEncoder = passwordEncoder;
+        this.jdbcTemplate = jdbcTemplate;
+        this.objectMapper = objectMapper;
+        this.validator = validator;
+        this.userSearchIndex = userSearchIndex;
+        this.transactionTemplate = transactionTemplate;
+        //kept apart from the login hashing pool and the common pool, so an import leaves cores for both
+        AtomicInteger threadCount = new AtomicInteger();
+        this.hashExecutor = Executors.newFixedThreadPool(Math.max(hashThreads, 1), r -> {
+            Thread t = new Thread(r, "user-import-hash-" + threadCount.incrementAndGet());
+            t.setDaemon(true);
+            return t;
+        });
+    }
+
+    public UserImportStatus startImport(MultipartFile file) {
+        if (file == null || file.isEmpty()) {
+            throw new WrongStatusException("File must be provided");
+        }
+        String name = file.getOriginalFilename() != null ? file.getOriginalFilename().toLowerCase(Locale.ROOT) : "";
+        boolean json = name.endsWith(".json") || name.endsWith(".ndjson");
+
+        //the multipart temp file goes away with the request, so keep our own copy
+        Path copy;
+        try {
+            copy = Files.createTempFile("user-import-", json ? ".json" : ".csv");
+            try (InputStream in = file.getInputStream()) {
+                Files.copy(in, copy, StandardCopyOption.REPLACE_EXISTING);
+            }
+        } catch (IOException e) {
+            throw new RuntimeException("File storage failed", e);
+        }
+
+        if (jobs.size() >= MAX_RETAINED_JOBS) {
+            jobs.values().removeIf(j -> "COMPLETED".equals(j.state) || "FAILED".equals(j.state));
+        }
+        ImportJob job = new ImportJob(UUID.randomUUID().toString());
+        jobs.put(job.id, job);
+        executor.execute(() -> run(job, copy, json));
+        return job.toStatus();
+    }
+
+    public UserImportStatus getStatus(String jobId) {
+        ImportJob job = jobs.get(jobId);
+        if (job == null) {
+            throw new UserNotFoundException("Import job not found");
+        }
+        return job.toStatus();
+    }
+
+    private void run(ImportJob job, Path file, boolean json) {
+        job.state = "RUNNING";
+        try (BufferedReader reader = Files.newBufferedReader(file, StandardCharsets.UTF_8)) {
+            if (json) {
+                readJson(job, reader);
+            } else {
+                readCsv(job, reader);
+            }
+            job.state = "COMPLETED";
+        } catch (Exception e) {
+            job.error(-1, "import aborted: " + e.getMessage());
+            job.state = "FAILED";
+        } finally {
+            try {
+                Files.deleteIfExists(file);
+            } catch (IOException ignored) {}
+        }
+    }
+
+    //accepts a JSON array of registrations or one object per line
+    private void readJson(ImportJob job, BufferedReader reader) throws IOException {
+        List<Row> chunk = new ArrayList<>(CHUNK_SIZE);
+        long rowNumber = 0;
+        try (MappingIterator<RegistrationRequest> it = objectMapper.readerFor(RegistrationRequest.class).readValues(reader)) {
+            while (it.hasNext()) {
+                rowNumber++;
+                try {
+                    chunk.add(new Row(rowNumber, it.next()));
+                } catch (RuntimeException e) {
+                    job.rowFailed(rowNumber, "unreadable record");
+                    job.processed.incrementAndGet();
+                    continue;
+                }
+                if (chunk.size() == CHUNK_SIZE) {
+                    processChunk(job, chunk);
+                    chunk = new ArrayList<>(CHUNK_SIZE);
+                }
+            }
+        }
+        processChunk(job, chunk);
+    }
+
+    //header row required: name,email,password,panNumber,role (any order)
+    private void readCsv(ImportJob job, BufferedReader reader) throws IOException {
+        String header = reader.readLine();
+        if (header == null) {
+            return;
+        }
+        List<String> columns = splitCsv(header);
+        int nameCol = columns.indexOf("name");
+        int emailCol = columns.indexOf("email");
+        int passwordCol = columns.indexOf("password");
+        int panCol = columns.indexOf("panNumber");
+        int roleCol = columns.indexOf("role");
+        if (nameCol < 0 || emailCol < 0 || passwordCol < 0 || panCol < 0 || roleCol < 0) {
+            throw new WrongStatusException("CSV header must contain name,email,password,panNumber,role");
+        }
+
+        List<Row> chunk = new ArrayList<>(CHUNK_SIZE);
+        long rowNumber = 0;
+        String line;
+        while ((line = reader.readLine()) != null) {
+            if (line.isBlank()) {
+                continue;
+            }
+            rowNumber++;
+            List<String> values = splitCsv(line);
+            try {
+                RegistrationRequest req = new RegistrationRequest(
+                        values.get(nameCol), values.get(emailCol), values.get(passwordCol),
+                        Roles.valueOf(values.get(roleCol).toUpperCase(Locale.ROOT)), values.get(panCol));
+                chunk.add(new Row(rowNumber, req));
+            } catch (RuntimeException e) {
+                job.rowFailed(rowNumber, "malformed row");
+                job.processed.incrementAndGet();
+                continue;
+            }
+            if (chunk.size() == CHUNK_SIZE) {
+                processChunk(job, chunk);
+                chunk = new ArrayList<>(CHUNK_SIZE);
+            }
+        }
+        processChunk(job, chunk);
+    }
+
+    private void processChunk(ImportJob job, List<Row> chunk) {
+        if (chunk.isEmpty()) {
+            return;
+        }
+        List<Row> valid = new ArrayList<>(chunk.size());
+        Set<String> emails = new HashSet<>();
+        for (Row row : chunk) {
+            Set<ConstraintViolation<RegistrationRequest>> violations = validator.validate(row.req);
+            if (!violations.isEmpty()) {
+                job.rowFailed(row.number, violations.iterator().next().getMessage());
+            } else if (!emails.add(row.req.getEmail())) {
+                job.rowFailed(row.number, "duplicate email in file");
+            } else {
+                valid.add(row);
+            }
+        }
+        if (!valid.isEmpty()) {
+            Set<String> existing = new HashSet<>(userRepository.findExistingEmails(emails));
+            valid.removeIf(row -> {
+                if (existing.contains(row.req.getEmail())) {
+                    job.rowFailed(row.number, "User Already Exists with the mail ID");
+                    return true;
+                }
+                return false;
+            });
+        }
+        if (!valid.isEmpty()) {
+            hashPasswords(valid);
+            insert(job, valid);
+        }
+        job.processed.addAndGet(chunk.size());
+    }
+
+    //BCrypt dominates the cost; the chunk waits for the import hash pool to get through it
+    private void hashPasswords(List<Row> rows) {
+        List<Future<?>> hashes = new ArrayList<>(rows.size());
+        for (Row row : rows) {
+            hashes.add(hashExecutor.submit(() -> row.hash = passwordEncoder.encode(row.req.getPassword())));
+        }
+        try {
+            for (Future<?> hash : hashes) {
+                hash.get();
+            }
+        } catch (InterruptedException e) {
+            hashes.forEach(hash -> hash.cancel(true));
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while hashing imported passwords", e);
+        } catch (ExecutionException e) {
+            throw new IllegalStateException("Password hashing failed", e.getCause());
+        }
+    }
+
+    private void insert(ImportJob job, List<Row> rows) {
+        List<Object[]> args = new ArrayList<>(rows.size());
+        for (Row row : rows) {
+            args.add(toArgs(row));
+        }
+        List<String> inserted = new ArrayList<>(rows.size());
+        try {
+            //all or nothing, so the row-by-row retry below never meets rows this batch already committed
+            transactionTemplate.executeWithoutResult(status -> jdbcTemplate.batchUpdate(INSERT_SQL, args));
+            for (Row row : rows) {
+                inserted.add(row.req.getEmail());
+            }
+        } catch (DataIntegrityViolationException e) {
+            //someone registered one of these emails meanwhile; redo row by row to find it
+            for (Row row : rows) {
+                try {
+                    jdbcTemplate.update(INSERT_SQL, toArgs(row));
+                    inserted.add(row.req.getEmail());
+                } catch (DataIntegrityViolationException rowError) {
+                    job.rowFailed(row.number, "User Already Exists with the mail ID");
+                }
+            }
+        }
+        job.imported.addAndGet(inserted.size());
+        if (!inserted.isEmpty()) {
+            for (UserProfileResponse profile : userRepository.findProfilesByEmailIn(inserted)) {
+                userSearchIndex.put(profile);
+            }
+        }
+    }
+
+    private static Object[] toArgs(Row row) {
+        RegistrationRequest req = row.req;
+        return new Object[] { req.getName(), req.getEmail(), row.hash, req.getRole().name(),
+                req.getRole() == Roles.CUSTOMER, req.getPanNumber() };
+    }
+
+    //comma separated, double quotes allowed around a field, "" for a literal quote
+    private static List<String> splitCsv(String line) {
+        List<String> values = new ArrayList<>();
+        StringBuilder current = new StringBuilder();
+        boolean quoted = false;
+        for (int i = 0; i < line.length(); i++) {
+            char c = line.charAt(i);
+            if (quoted) {
+                if (c == '"' && i + 1 < line.length() && line.charAt(i + 1) == '"') {
+                    current.append('"');
+                    i++;
+                } else if (c == '"') {
+                    quoted = false;
+                } else {
+                    current.append(c);
+                }
+            } else if (c == '"') {
+                quoted = true;
+            } else if (c == ',') {
+                values.add(current.toString().trim());
+                current.setLength(0);
+            } else {
+                current.append(c);
+            }
+        }
+        values.add(current.toString().trim());
+        return values;
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdownNow();
+        hashExecutor.shutdownNow();
+    }
+
+    private static final class Row {
+        private final long number;
+        private final RegistrationRequest req;
+        private String hash;
+
+        private Row(long number, RegistrationRequest req) {
+            this.number = number;
+            this.req = req;
+        }
+    }
+
+    private static final class ImportJob {
+        private final String id;
+        private volatile String state = "QUEUED";
+        private final AtomicLong processed = new AtomicLong();
+        private final AtomicLong imported = new AtomicLong();
+        private final AtomicLong failed = new AtomicLong();
+        private final List<String> errors = Collections.synchronizedList(new ArrayList<>());
+
+        private ImportJob(String id) {
+            this.id = id;
+        }
+
+        private void rowFailed(long rowNumber, String reason) {
+            failed.incrementAndGet();
+            error(rowNumber, reason);
+        }
+
+        private void error(long rowNumber, String reason) {
+            if (errors.size() < MAX_REPORTED_ERRORS) {
+                errors.add(rowNumber > 0 ? "row " + rowNumber + ": " + reason : reason);
+            }
+        }
+
+        private UserImportStatus toStatus() {
+            List<String> snapshot;
+            synchronized (errors) {
+                snapshot = new ArrayList<>(errors);
+            }
+            return new UserImportStatus(id, state, processed.get(), imported.get(), failed.get(), snapshot);
+        }
+    }
+}
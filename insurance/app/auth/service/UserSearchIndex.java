@@ -0,0 +1,143 @@
+package com.insurance.app.auth.service;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Service;
+
+import com.insurance.app.auth.dto.UserProfileResponse;
+import com.insurance.app.auth.entity.Users;
+import com.insurance.app.auth.repository.UserRepository;
+
+//in-memory prefix index over email, name and PAN for the admin typeahead.
+//each field is a sorted map of "lowercased value \0 id" -> id, so a prefix is a subMap range.
+//loaded once at startup, then kept current by the services that create or change users.
+@Service
+public class UserSearchIndex {
+
+    private static final int LOAD_CHUNK_SIZE = 500;
+    private static final int MAX_RESULTS = 100;
+    private static final char SEPARATOR = '\0';
+
+    private final UserRepository userRepository;
+
+    private final Map<Long, UserProfileResponse> profiles = new ConcurrentHashMap<>();
+    private final NavigableMap<String, Long> byEmail = new ConcurrentSkipListMap<>();
+    private final NavigableMap<String, Long> byName = new ConcurrentSkipListMap<>();
+    private final NavigableMap<String, Long> byPan = new ConcurrentSkipListMap<>();
+
+    public UserSearchIndex(UserRepository userRepository) {
+        this.userRepository = userRepository;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuild() {
+        Long after = 0L;
+        List<UserProfileResponse> page;
+        do {
+            page = userRepository.findProfilesAfter(after, null, null, PageRequest.of(0, LOAD_CHUNK_SIZE));
+            for (UserProfileResponse profile : page) {
+                put(profile);
+            }
+            if (!page.isEmpty()) {
+                after = page.get(page.size() - 1).getId();
+            }
+        } while (page.size() == LOAD_CHUNK_SIZE);
+    }
+
+    public void put(Users user) {
+        put(new UserProfileResponse(user.getId(), user.getName(), user.getEmail(), user.getRole(),
+                user.isActive(), user.getPanNumber()));
+    }
+
+    public synchronized void put(UserProfileResponse profile) {
+        UserProfileResponse previous = profiles.put(profile.getId(), profile);
+        if (previous != null) {
+            removeKeys(previous);
+        }
+        addKey(byEmail, profile.getEmail(), profile.getId());
+        addKey(byName, profile.getName(), profile.getId());
+        addKey(byPan, profile.getPanNumber(), profile.getId());
+    }
+
+    //active flag does not affect the keys, only the stored snapshot
+    public synchronized void setActive(Collection<Long> ids, boolean active) {
+        for (Long id : ids) {
+            profiles.computeIfPresent(id, (k, p) -> new UserProfileResponse(p.getId(), p.getName(),
+                    p.getEmail(), p.getRole(), active, p.getPanNumber()));
+        }
+    }
+
+    //matches on any field, email hits first, then name, then PAN
+    public List<UserProfileResponse> search(String query, int limit) {
+        String prefix = normalize(query);
+        if (prefix == null || prefix.isEmpty()) {
+            return List.of();
+        }
+        int max = Math.min(Math.max(limit, 1), MAX_RESULTS);
+        Set<Long> ids = new LinkedHashSet<>();
+        collect(byEmail, prefix, ids, max);
+        collect(byName, prefix, ids, max);
+        collect(byPan, prefix, ids, max);
+
+        List<UserProfileResponse> results = new ArrayList<>(ids.size());
+        for (Long id : ids) {
+            UserProfileResponse profile = profiles.get(id);
+            if (profile != null) {
+                results.add(profile);
+            }
+        }
+        return results;
+    }
+
+    public int size() {
+        return profiles.size();
+    }
+
+    private static void collect(NavigableMap<String, Long> index, String prefix, Set<Long> ids, int max) {
+        if (ids.size() >= max) {
+            return;
+        }
+        for (Long id : index.subMap(prefix, true, prefix + Character.MAX_VALUE, true).values()) {
+            ids.add(id);
+            if (ids.size() >= max) {
+                return;
+            }
+        }
+    }
+
+    private void removeKeys(UserProfileResponse profile) {
+        removeKey(byEmail, profile.getEmail(), profile.getId());
+        removeKey(byName, profile.getName(), profile.getId());
+        removeKey(byPan, profile.getPanNumber(), profile.getId());
+    }
+
+    private static void addKey(NavigableMap<String, Long> index, String value, Long id) {
+        String key = normalize(value);
+        if (key != null) {
+            index.put(key + SEPARATOR + id, id);
+        }
+    }
+
+    private static void removeKey(NavigableMap<String, Long> index, String value, Long id) {
+        String key = normalize(value);
+        if (key != null) {
+            index.remove(key + SEPARATOR + id);
+        }
+    }
+
+    private static String normalize(String value) {
+        return value == null ? null : value.trim().toLowerCase(Locale.ROOT);
+    }
+}
@@ -7,7 +7,6 @@ import org.springframework.security.authentication.AuthenticationManager;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.core.Authentication;
 import org.springframework.security.core.context.SecurityContextHolder;
-import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
 
 import com.insurance.app.auth.entity.Roles;
@@ -30,22 +29,27 @@ import com.insurance.app.auth.exceptionHandling.WrongStatusException;
 @Service
 public class UserService { // customer
     private final UserRepository userRepository;
-    private final PasswordEncoder passwordEncoder;
+    private final PasswordHashingService passwordHashingService;
     private final AuthenticationManager authenticationManager;
     private final JwtTokenProvider jwtTokenProvider;
+    private final CustomUserDetailsService userDetailsService;
+    private final UserSearchIndex userSearchIndex;
 
-    public UserService(UserRepository userRepository, PasswordEncoder passwordEncoder,
-                       AuthenticationManager authenticationManager, JwtTokenProvider jwtTokenProvider) {
+    public UserService(UserRepository userRepository, PasswordHashingService passwordHashingService,
+                       AuthenticationManager authenticationManager, JwtTokenProvider jwtTokenProvider,
+                       CustomUserDetailsService userDetailsService, UserSearchIndex userSearchIndex) {
         this.userRepository = userRepository;
-        this.passwordEncoder = passwordEncoder;
+        this.passwordHashingService = passwordHashingService;
         this.authenticationManager = authenticationManager;
         this.jwtTokenProvider = jwtTokenProvider;
+        this.userDetailsService = userDetailsService;
+        this.userSearchIndex = userSearchIndex;
     }
 
     public LoginResponse loginUser(LoginRequest req) throws AccessForbiddenException {
-        Authentication authentication = authenticationManager.authenticate(
+        Authentication authentication = passwordHashingService.call(() -> authenticationManager.authenticate(
                 new UsernamePasswordAuthenticationToken(req.getEmail(), req.getPassword())
-        );
+        ));
         SecurityContextHolder.getContext().setAuthentication(authentication);
         Users user = userRepository.findByEmail(req.getEmail())
         		.orElseThrow(() -> new UserNotFoundException("User not found"));
@@ -56,8 +60,10 @@ public class UserService { // customer
         if(!user.isActive()) {
         	throw new AccessForbiddenException("User Account inactive");
         }
+        passwordHashingService.rehashIfCostChanged(user, req.getPassword());
         String token = jwtTokenProvider.generateToken(user.getEmail(), user.getRole());
-        return new LoginResponse(user.getId(),user.getName(), user.getEmail(), user.getRole(), token);
+        String refreshToken = jwtTokenProvider.generateRefreshToken(user.getEmail(), user.getRole());
+        return new LoginResponse(user.getId(),user.getName(), user.getEmail(), user.getRole(), token, refreshToken);
     }
 
     public UserProfileResponse loadUserProfile(String email) {
@@ -70,11 +76,12 @@ public class UserService { // customer
     public void changePassword(ChangePasswordRequest req) {
         Users user = userRepository.findByEmail(req.getEmail())
                 .orElseThrow(() -> new UserNotFoundException("User not found"));
-        if (!passwordEncoder.matches(req.getOldPassword(), user.getPassword())) {
+        if (!passwordHashingService.matches(req.getOldPassword(), user.getPassword())) {
             throw new WrongStatusException("Old password incorrect");
         }
-        user.setPassword(passwordEncoder.encode(req.getNewPassword()));
+        user.setPassword(passwordHashingService.encode(req.getNewPassword()));
         userRepository.save(user);
+        userDetailsService.invalidate(user.getEmail());
     }
 
     public void forgotPassword(ForgotPasswordRequest req) {
@@ -86,8 +93,9 @@ public class UserService { // customer
             throw new WrongStatusException("Invalid PAN Number");
         }
         
-        user.setPassword(passwordEncoder.encode(req.getNewPassword()));
+        user.setPassword(passwordHashingService.encode(req.getNewPassword()));
         userRepository.save(user);
+        userDetailsService.invalidate(user.getEmail());
     }
 
 	public String register(RegistrationRequest req) throws UserAlreadyExistsException{
@@ -100,13 +108,13 @@ public class UserService { // customer
 		Users user = new Users();
 	    user.setName(req.getName());
 	    user.setEmail(req.getEmail());
-	    user.setPassword(passwordEncoder.encode(req.getPassword()));
+	    user.setPassword(passwordHashingService.encode(req.getPassword()));
 	    user.setPanNumber(req.getPanNumber());
 	    user.setRole(req.getRole());
 
 	    user.setActive(req.getRole() == Roles.CUSTOMER);
 
-	    userRepository.save(user);
+	    userSearchIndex.put(userRepository.save(user));
 	    return "User Registration Successful";
 		
 	}
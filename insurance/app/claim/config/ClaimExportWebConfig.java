@@ -0,0 +1,26 @@
+package com.insurance.app.claim.config;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.web.servlet.config.annotation.AsyncSupportConfigurer;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+/**
+ * Async request timeout for StreamingResponseBody responses, which only the claims export uses.
+ * Left at the container default (about 30s on Tomcat) a full-history export is cut off mid-stream.
+ * SSE emitters set their own timeout and are unaffected.
+ */
+@Configuration
+public class ClaimExportWebConfig implements WebMvcConfigurer {
+
+    private final long exportTimeoutMillis;
+
+    public ClaimExportWebConfig(@Value("${claims.export.timeout-ms:1800000}") long exportTimeoutMillis) {
+        this.exportTimeoutMillis = exportTimeoutMillis;
+    }
+
+    @Override
+    public void configureAsyncSupport(AsyncSupportConfigurer configurer) {
+        configurer.setDefaultTimeout(exportTimeoutMillis);
+    }
+}
@@ -1,15 +1,33 @@
 package com.insurance.app.claim.controller;
 
+import java.time.LocalDateTime;
+import java.util.Arrays;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
 import java.util.stream.Collectors;
 
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import com.insurance.app.claim.dto.ClaimBulkResultDTO;
+import com.insurance.app.claim.dto.ClaimPageResponse;
+import com.insurance.app.claim.dto.ClaimStatusChangeDTO;
+import com.insurance.app.claim.dto.ClaimTriageDTO;
 import com.insurance.app.claim.dto.ClaimStatusUpdateDTO;
 import com.insurance.app.claim.entity.Claim;
+import com.insurance.app.claim.entity.ClaimStatus;
+import com.insurance.app.claim.exception.ClaimConflictException;
+import com.insurance.app.claim.service.ClaimAutoAdjudicator;
+import com.insurance.app.claim.service.ClaimExportService;
 import com.insurance.app.claim.service.ClaimService;
 
 import jakarta.validation.Valid;
@@ -23,12 +41,118 @@ import lombok.RequiredArgsConstructor;
 public class AdminClaimController {
 
     private final ClaimService claimService;
+    private final ClaimExportService claimExportService;
+    private final ClaimAutoAdjudicator claimAutoAdjudicator;
 
     @GetMapping
     public List<Claim> getAllClaims() {
         return claimService.getAllClaims();
     }
 
+    @GetMapping("/feed")
+    public ResponseEntity<ClaimPageResponse> getClaimsFeed(
+            @RequestParam(required = false) String status,
+            @RequestParam(required = false) Long userId,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime to,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "50") int size) {
+        return ResponseEntity.ok(claimService.getClaimsFeed(status, userId, from, to, cursor, size));
+    }
+
+    // Streams every matching claim; gzip when the client accepts it
+    @GetMapping("/export")
+    public ResponseEntity<?> exportClaims(
+            @RequestParam(defaultValue = "csv") String format,
+            @RequestParam(required = false) String include,
+            @RequestParam(required = false) String status,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime to,
+            @RequestHeader(value = HttpHeaders.ACCEPT_ENCODING, required = false) String acceptEncoding) {
+        if (!ClaimExportService.isSupportedFormat(format)) {
+            return ResponseEntity.badRequest().body("Unsupported export format: " + format);
+        }
+        // Checked before streaming starts, since errors after the first byte cannot change the status
+        if (status != null && !ClaimStatus.isValid(status)) {
+            return ResponseEntity.badRequest().body("Invalid claim status: " + status);
+        }
+        Set<String> columns = include == null ? Set.of() : new HashSet<>(Arrays.asList(include.split(",")));
+        boolean gzip = acceptEncoding != null && acceptEncoding.contains("gzip");
+
+        StreamingResponseBody body = out -> claimExportService.export(out, format, columns, status, from, to, gzip);
+        ResponseEntity.BodyBuilder response = ResponseEntity.ok()
+                .contentType("csv".equals(format) ? MediaType.parseMediaType("text/csv")
+                        : MediaType.parseMediaType("application/x-ndjson"))
+                .header(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"claims." + format + "\"");
+        if (gzip) {
+            response.header(HttpHeaders.CONTENT_ENCODING, "gzip");
+        }
+        return response.body(body);
+    }
+
+    @GetMapping("/auto-adjudication/stats")
+    public ResponseEntity<Map<String, Long>> getAutoAdjudicationStats() {
+        return ResponseEntity.ok(claimAutoAdjudicator.getStats());
+    }
+
+    @GetMapping("/risk/stats")
+    public ResponseEntity<Map<String, Long>> getRiskFeatureStats() {
+        return ResponseEntity.ok(claimService.getRiskFeatureStats());
+    }
+
+    @GetMapping("/archive/stats")
+    public ResponseEntity<Map<String, Long>> getArchiveStats() {
+        return ResponseEntity.ok(claimService.getArchiveStats());
+    }
+
+    @GetMapping("/stream/stats")
+    public ResponseEntity<Map<String, Long>> getStreamStats() {
+        return ResponseEntity.ok(claimService.getClaimStreamStats());
+    }
+
+    @GetMapping("/counts")
+    public ResponseEntity<Map<String, Long>> getClaimCounts() {
+        return ResponseEntity.ok(claimService.getClaimCounts());
+    }
+
+    @GetMapping("/triage")
+    public ResponseEntity<List<ClaimTriageDTO>> peekTriage(@RequestParam(defaultValue = "20") int size) {
+        return ResponseEntity.ok(claimService.peekTriageClaims(size));
+    }
+
+    @GetMapping("/triage/stats")
+    public ResponseEntity<Map<String, Long>> getTriageStats() {
+        return ResponseEntity.ok(claimService.getTriageStats());
+    }
+
+    @PostMapping("/triage/pull")
+    public ResponseEntity<List<ClaimTriageDTO>> pullTriage(@RequestParam(defaultValue = "1") int count) {
+        String adjuster = SecurityContextHolder.getContext().getAuthentication().getName();
+        return ResponseEntity.ok(claimService.pullTriageClaims(adjuster, count));
+    }
+
+    @PostMapping("/triage/{id}/release")
+    public ResponseEntity<?> releaseTriage(@PathVariable Long id) {
+        String adjuster = SecurityContextHolder.getContext().getAuthentication().getName();
+        try {
+            claimService.releaseTriageClaim(id, adjuster);
+            return ResponseEntity.ok("Claim " + id + " returned to the triage queue");
+        } catch (ClaimConflictException e) {
+            return ResponseEntity.status(HttpStatus.CONFLICT).body(e.getMessage());
+        }
+    }
+
+    @PostMapping("/bulk-status")
+    public ResponseEntity<?> bulkUpdateStatus(@RequestBody List<ClaimStatusChangeDTO> changes) {
+        try {
+            List<ClaimBulkResultDTO> results = claimService.bulkUpdateClaimStatus(changes);
+            return ResponseEntity.ok(results);
+        } catch (Exception e) {
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
+                    .body("Failed to update claim statuses: " + e.getMessage());
+        }
+    }
+
     @PutMapping("/{id}/status")
     public ResponseEntity<?> updateStatus(
             @PathVariable Long id,
@@ -37,6 +161,9 @@ public class AdminClaimController {
         try {
             Claim updatedClaim = claimService.updateClaimStatus(id, statusDto.getStatus());
             return ResponseEntity.ok(updatedClaim);
+        } catch (ClaimConflictException e) {
+            return ResponseEntity.status(HttpStatus.CONFLICT)
+                    .body("Failed to update claim status: " + e.getMessage());
         } catch (Exception e) {
             return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
                     .body("Failed to update claim status: " + e.getMessage());
@@ -2,6 +2,7 @@ package com.insurance.app.claim.controller;
 
 import com.insurance.app.claim.dto.ClaimDTO;
 import com.insurance.app.claim.entity.Claim;
+import com.insurance.app.claim.exception.ClaimConflictException;
 import com.insurance.app.claim.service.ClaimService;
 
 import com.insurance.app.purchase.entity.PolicyPurchase;
@@ -9,9 +10,12 @@ import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
 import java.util.List;
 
@@ -34,6 +38,13 @@ public class ClaimController {
         }
     }
 
+    // Pushes claim status changes and new notifications for the signed-in customer
+    @GetMapping(value = "/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter streamClaimEvents() {
+        String email = SecurityContextHolder.getContext().getAuthentication().getName();
+        return claimService.subscribeToClaimEvents(email);
+    }
+
     @GetMapping("/user/{userId}")
     public ResponseEntity<?> getClaimsByUser(@PathVariable Long userId) {
         try {
@@ -61,6 +72,9 @@ public class ClaimController {
         try {
             claimService.deleteClaim(id);
             return ResponseEntity.noContent().build();
+        } catch (ClaimConflictException e) {
+            return ResponseEntity.status(HttpStatus.CONFLICT)
+                    .body("Failed to delete claim: " + e.getMessage());
         } catch (Exception e) {
             return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
                     .body("Failed to delete claim: " + e.getMessage());
@@ -0,0 +1,13 @@
+package com.insurance.app.claim.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ClaimBulkResultDTO {
+    private Long claimId;
+    private String outcome; // UPDATED, NOT_FOUND, INVALID_STATUS, DUPLICATE, FINAL_STATE or CONFLICT
+}
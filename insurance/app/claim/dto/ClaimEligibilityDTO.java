@@ -0,0 +1,19 @@
+package com.insurance.app.claim.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDate;
+
+//everything raiseClaim needs to know about a purchase, fetched in one query
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ClaimEligibilityDTO {
+    private Long purchaseId;
+    private Long ownerId;
+    private String purchaseStatus;
+    private Long existingClaims;
+    private LocalDate purchaseDate;
+}
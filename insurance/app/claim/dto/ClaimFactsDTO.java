@@ -0,0 +1,35 @@
+package com.insurance.app.claim.dto;
+
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+// Inputs to the auto-adjudication rules for one claim
+@Data
+@NoArgsConstructor
+public class ClaimFactsDTO {
+    private Long claimId;
+    private Long userId;
+    private String claimStatus;
+    private String policyType; // HEALTH, LIFE, CAR, BIKE or UNKNOWN
+    private double sumInsured;
+    private long documents;
+    private long verifiedDocuments;
+    private long priorClaims;   // the user's other claims, any status
+    private long priorApproved;
+    private long priorRejected;
+
+    public ClaimFactsDTO(Long claimId, Long userId, String claimStatus, String policyType, Double sumInsured,
+                         Long documents, Long verifiedDocuments, Long priorClaims, Long priorApproved,
+                         Long priorRejected) {
+        this.claimId = claimId;
+        this.userId = userId;
+        this.claimStatus = claimStatus;
+        this.policyType = policyType;
+        this.sumInsured = sumInsured == null ? 0 : sumInsured;
+        this.documents = documents;
+        this.verifiedDocuments = verifiedDocuments;
+        this.priorClaims = priorClaims;
+        this.priorApproved = priorApproved;
+        this.priorRejected = priorRejected;
+    }
+}
@@ -0,0 +1,13 @@
+package com.insurance.app.claim.dto;
+
+import lombok.*;
+
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ClaimPageResponse {
+    private List<ClaimResponseDTO> claims;
+    private String nextCursor; // pass back as "cursor" for the next page, null on the last page
+}
@@ -16,4 +16,5 @@ public class ClaimResponseDTO {
     private LocalDateTime uploadedAt;
     private String userName;
     private String userEmail;
+    private Double riskScore;
 }
\ No newline at end of file
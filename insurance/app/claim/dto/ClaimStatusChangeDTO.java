@@ -0,0 +1,19 @@
+package com.insurance.app.claim.dto;
+
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotNull;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ClaimStatusChangeDTO {
+
+    @NotNull(message = "Claim ID is required")
+    private Long claimId;
+
+    @NotBlank(message = "Status is required")
+    private String status;
+}
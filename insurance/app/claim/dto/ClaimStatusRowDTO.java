@@ -0,0 +1,15 @@
+package com.insurance.app.claim.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+// Minimal claim row for set-based status work, no entity graph attached
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ClaimStatusRowDTO {
+    private Long claimId;
+    private Long userId;
+    private String claimStatus;
+}
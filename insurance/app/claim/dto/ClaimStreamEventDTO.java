@@ -0,0 +1,16 @@
+package com.insurance.app.claim.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+// Payload of a server-sent claim or notification event
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ClaimStreamEventDTO {
+    private Long claimId;
+    private String eventType;   // RAISED, UPDATED, APPROVED, REJECTED, WITHDRAWN or NOTIFICATION
+    private String claimStatus; // status after the event, null for notifications and withdrawals
+    private String message;     // notification text, null for claim events
+}
@@ -0,0 +1,32 @@
+package com.insurance.app.claim.dto;
+
+import java.time.LocalDateTime;
+
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+public class ClaimTriageDTO {
+    private Long claimId;
+    private Long userId;
+    private Long purchaseId;
+    private String policyType; // HEALTH, LIFE, CAR, BIKE or UNKNOWN
+    private double sumInsured; // sum insured, sum assured or IDV depending on the policy
+    private LocalDateTime uploadedAt;
+
+    // Filled in by the triage queue
+    private double priority;
+    private String leasedBy;
+    private LocalDateTime leaseExpiresAt;
+
+    public ClaimTriageDTO(Long claimId, Long userId, Long purchaseId, String policyType, Double sumInsured,
+                          LocalDateTime uploadedAt) {
+        this.claimId = claimId;
+        this.userId = userId;
+        this.purchaseId = purchaseId;
+        this.policyType = policyType;
+        this.sumInsured = sumInsured == null ? 0 : sumInsured;
+        this.uploadedAt = uploadedAt;
+    }
+}
@@ -0,0 +1,34 @@
+package com.insurance.app.claim.entity;
+
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import jakarta.persistence.*;
+import lombok.*;
+import java.time.LocalDateTime;
+
+// Closed claim moved out of the hot claim table by ClaimArchiveService.
+// Keeps the claim's own id; its documents travel with it as gzipped JSON.
+@Entity
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+@Table(name = "claim_archive", indexes = @Index(name = "idx_claim_archive_user", columnList = "user_id"))
+public class ArchivedClaim {
+
+    @Id
+    private Long claimId;
+
+    @Column(name = "user_id")
+    private Long userId;
+
+    private Long purchaseId;
+    private String claimStatus;
+    private LocalDateTime uploadedAt;
+    private LocalDateTime decidedAt;
+    private Double riskScore;
+    private LocalDateTime archivedAt;
+
+    @Lob
+    @JsonIgnore
+    private byte[] documents;
+}
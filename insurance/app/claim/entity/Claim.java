@@ -14,24 +14,40 @@ import com.insurance.app.purchase.entity.PolicyPurchase;
 @AllArgsConstructor
 @Builder
 @JsonIgnoreProperties({"hibernateLazyInitializer", "handler"})
+@Table(uniqueConstraints = @UniqueConstraint(name = "uk_claim_purchase", columnNames = "purchase_id"))
+// Fetch plan for claims returned to clients: user and purchase with its policy in the same select.
+// The associations themselves are lazy, so reads that do not ask for this plan load nothing extra.
+@NamedEntityGraph(name = Claim.DETAILS_GRAPH,
+        attributeNodes = {@NamedAttributeNode("user"), @NamedAttributeNode(value = "purchase", subgraph = "purchase")},
+        subgraphs = @NamedSubgraph(name = "purchase", attributeNodes = {
+                @NamedAttributeNode("bikePolicy"), @NamedAttributeNode("carPolicy"),
+                @NamedAttributeNode("healthPolicy"), @NamedAttributeNode("lifePolicy")}))
 public class Claim {
+    public static final String DETAILS_GRAPH = "Claim.details";
+
     @Id
     @GeneratedValue(strategy = GenerationType.IDENTITY)
     private Long claimId;
 
-    @ManyToOne
+    @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "user_id", nullable = false)
-    @JsonIgnoreProperties({"claims", "purchases"})
+    @JsonIgnoreProperties({"claims", "purchases", "hibernateLazyInitializer", "handler"})
     private Users user;
 
-    @ManyToOne
+    @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "purchase_id", nullable = false)
-    @JsonIgnoreProperties({"claims", "user"})
+    @JsonIgnoreProperties({"claims", "user", "hibernateLazyInitializer", "handler"})
     private PolicyPurchase purchase;
 
     private String claimStatus;
     private LocalDateTime uploadedAt;
 
+    // When the claim reached a final status; the archival job keys on it
+    private LocalDateTime decidedAt;
+
+    // 0-100 fraud-signal score, set when the claim is raised and raised further by duplicate documents
+    private Double riskScore;
+
     @PrePersist
     public void setUploadedAtNow()
     {
@@ -0,0 +1,37 @@
+package com.insurance.app.claim.entity;
+
+import jakarta.persistence.*;
+import lombok.*;
+import java.time.LocalDateTime;
+
+// Outbox row, written in the same transaction as the claim change it describes.
+// Claim and user are plain ids so the event outlives a withdrawn claim.
+@Entity
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+@Table(name = "claim_event", indexes = @Index(name = "idx_claim_event_processed", columnList = "processed_at"))
+public class ClaimEvent {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long eventId;
+
+    private Long claimId;
+    private Long userId;
+    private Long purchaseId;
+
+    @Enumerated(EnumType.STRING)
+    private ClaimEventType eventType;
+
+    private String fromStatus;
+    private String toStatus;
+    private LocalDateTime createdAt;
+    private LocalDateTime processedAt;
+
+    @PrePersist
+    public void setCreatedAtNow() {
+        this.createdAt = LocalDateTime.now();
+    }
+}
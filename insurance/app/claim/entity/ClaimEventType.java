@@ -0,0 +1,21 @@
+package com.insurance.app.claim.entity;
+
+public enum ClaimEventType {
+    RAISED,
+    UPDATED,
+    APPROVED,
+    REJECTED,
+    WITHDRAWN;
+
+    // Event recorded when a claim moves to the given status
+    public static ClaimEventType forTransitionTo(ClaimStatus target) {
+        switch (target) {
+            case APPROVED:
+                return APPROVED;
+            case REJECTED:
+                return REJECTED;
+            default:
+                return UPDATED;
+        }
+    }
+}
@@ -0,0 +1,61 @@
+package com.insurance.app.claim.entity;
+
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * Claim lifecycle. The transition table lists, for each target status,
+ * the statuses a claim may be in when it moves there.
+ */
+public enum ClaimStatus {
+    PENDING,
+    APPROVED,
+    REJECTED;
+
+    private static final Map<ClaimStatus, Set<ClaimStatus>> ALLOWED_FROM = new EnumMap<>(ClaimStatus.class);
+
+    static {
+        ALLOWED_FROM.put(PENDING, EnumSet.of(PENDING));
+        ALLOWED_FROM.put(APPROVED, EnumSet.of(PENDING));
+        ALLOWED_FROM.put(REJECTED, EnumSet.of(PENDING));
+    }
+
+    public boolean isFinal() {
+        return this == APPROVED || this == REJECTED;
+    }
+
+    public boolean canTransitionTo(ClaimStatus target) {
+        return ALLOWED_FROM.get(target).contains(this);
+    }
+
+    public Set<ClaimStatus> allowedFrom() {
+        return Collections.unmodifiableSet(ALLOWED_FROM.get(this));
+    }
+
+    // Column values for use in the conditional UPDATE
+    public List<String> allowedFromNames() {
+        return ALLOWED_FROM.get(this).stream().map(Enum::name).collect(Collectors.toList());
+    }
+
+    public static boolean isValid(String status) {
+        return fromString(status) != null;
+    }
+
+    // null when the value is not a known status
+    public static ClaimStatus fromString(String status) {
+        if (status == null) {
+            return null;
+        }
+        for (ClaimStatus s : values()) {
+            if (s.name().equals(status)) {
+                return s;
+            }
+        }
+        return null;
+    }
+}
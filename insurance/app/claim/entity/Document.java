@@ -8,6 +8,7 @@ import jakarta.persistence.*;
 import lombok.*;
 
 @Entity
+@Table(indexes = @Index(name = "idx_document_content_hash", columnList = "content_hash"))
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
@@ -29,6 +30,10 @@ public class Document {
     private String documentType;
     private String fileUrl;
 
+    // SHA-256 of the stored file, for spotting the same document on different claims
+    @Column(name = "content_hash", length = 64)
+    private String contentHash;
+
     private LocalDateTime uploadedAt;
     private boolean verified;
 
@@ -0,0 +1,31 @@
+package com.insurance.app.claim.repository;
+
+import java.util.List;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import com.insurance.app.claim.entity.ArchivedClaim;
+
+public interface ArchivedClaimRepository extends JpaRepository<ArchivedClaim, Long> {
+
+    List<ArchivedClaim> findByUserIdOrderByClaimId(Long userId);
+
+    // Status and claim count pairs, so the in-memory counters include archived claims
+    @Query("SELECT a.claimStatus, COUNT(a) FROM ArchivedClaim a GROUP BY a.claimStatus")
+    List<Object[]> countGroupedByStatus();
+
+    @Query("SELECT a.userId, COUNT(a) FROM ArchivedClaim a GROUP BY a.userId")
+    List<Object[]> countGroupedByUser();
+
+    // Same shape as ClaimRepository.findRiskRowsBetween, for the risk feature rebuild
+    @Query("SELECT a.userId, a.purchaseId, a.uploadedAt FROM ArchivedClaim a WHERE a.claimId BETWEEN :from AND :to")
+    List<Object[]> findRiskRowsBetween(@Param("from") Long from, @Param("to") Long to);
+
+    @Query("SELECT MIN(a.claimId) FROM ArchivedClaim a")
+    Long findMinClaimId();
+
+    @Query("SELECT MAX(a.claimId) FROM ArchivedClaim a")
+    Long findMaxClaimId();
+}
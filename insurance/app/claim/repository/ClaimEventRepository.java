@@ -0,0 +1,45 @@
+package com.insurance.app.claim.repository;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import com.insurance.app.claim.entity.ClaimEvent;
+
+public interface ClaimEventRepository extends JpaRepository<ClaimEvent, Long> {
+
+    // One outbox row per claim, taking the owner from the claim row itself
+    @Modifying
+    @Query(value = "INSERT INTO claim_event (claim_id, user_id, purchase_id, event_type, from_status, to_status, created_at) "
+            + "SELECT c.claim_id, c.user_id, c.purchase_id, :type, :from, :to, CURRENT_TIMESTAMP "
+            + "FROM claim c WHERE c.claim_id IN :ids",
+            nativeQuery = true)
+    int recordForClaims(@Param("ids") Collection<Long> ids, @Param("type") String type,
+                        @Param("from") String from, @Param("to") String to);
+
+    // Oldest unrelayed events first; the Pageable only carries the batch size
+    @Query("SELECT e FROM ClaimEvent e WHERE e.processedAt IS NULL ORDER BY e.eventId")
+    List<ClaimEvent> findUnprocessed(Pageable pageable);
+
+    @Modifying
+    @Query("UPDATE ClaimEvent e SET e.processedAt = :at WHERE e.eventId IN :ids")
+    int markProcessed(@Param("ids") Collection<Long> ids, @Param("at") LocalDateTime at);
+
+    // WITHDRAWN events are kept: the withdrawn claim row is gone, and they are what remains of its raise
+    @Modifying
+    @Query("DELETE FROM ClaimEvent e WHERE e.processedAt < :before "
+            + "AND e.eventType <> com.insurance.app.claim.entity.ClaimEventType.WITHDRAWN")
+    int deleteProcessedBefore(@Param("before") LocalDateTime before);
+
+    // Purchase id and withdrawal count pairs, for the risk feature rebuild
+    @Query("SELECT e.purchaseId, COUNT(e) FROM ClaimEvent e "
+            + "WHERE e.eventType = com.insurance.app.claim.entity.ClaimEventType.WITHDRAWN "
+            + "AND e.purchaseId IS NOT NULL AND e.createdAt < :before GROUP BY e.purchaseId")
+    List<Object[]> countWithdrawnByPurchaseBefore(@Param("before") LocalDateTime before);
+}
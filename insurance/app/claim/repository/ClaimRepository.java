@@ -1,23 +1,46 @@
 package com.insurance.app.claim.repository;
 
 import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
 
 import com.insurance.app.purchase.entity.PolicyPurchase;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
+import com.insurance.app.claim.dto.ClaimEligibilityDTO;
+import com.insurance.app.claim.dto.ClaimFactsDTO;
+import com.insurance.app.claim.dto.ClaimResponseDTO;
+import com.insurance.app.claim.dto.ClaimStatusRowDTO;
+import com.insurance.app.claim.dto.ClaimTriageDTO;
 import com.insurance.app.claim.entity.Claim;
 
 public interface ClaimRepository extends JpaRepository<Claim, Long> {
 
+    // All claims (admin)
+    @Override
+    @EntityGraph(Claim.DETAILS_GRAPH)
+    List<Claim> findAll();
+
+    // Single claim with details
+    @EntityGraph(Claim.DETAILS_GRAPH)
+    Optional<Claim> findDetailedByClaimId(Long claimId);
+
     // Find claims by user ID
+    @EntityGraph(Claim.DETAILS_GRAPH)
     List<Claim> findByUser_Id(Long userId);
 
     // Find claims by status
+    @EntityGraph(Claim.DETAILS_GRAPH)
     List<Claim> findByClaimStatus(String status);
 
     // Find claims by purchase ID
+    @EntityGraph(Claim.DETAILS_GRAPH)
     List<Claim> findByPurchase_PurchaseId(Long purchaseId);
 
     // Check if claim exists for purchase
@@ -29,14 +52,142 @@ public interface ClaimRepository extends JpaRepository<Claim, Long> {
     // Count claims by user
     long countByUser_Id(Long userId);
 
+    // Shared JPQL fragments: a claim joined to whichever policy its purchase holds
+    String POLICY_JOINS = "FROM Claim c JOIN c.purchase p LEFT JOIN p.healthPolicy hp LEFT JOIN p.lifePolicy lp "
+            + "LEFT JOIN p.carPolicy cp LEFT JOIN p.bikePolicy bp ";
+
+    String POLICY_TYPE = "CASE WHEN hp.id IS NOT NULL THEN 'HEALTH' WHEN lp.id IS NOT NULL THEN 'LIFE' "
+            + "WHEN cp.vehicle_id IS NOT NULL THEN 'CAR' WHEN bp.vehicle_id IS NOT NULL THEN 'BIKE' ELSE 'UNKNOWN' END";
+
+    String SUM_INSURED = "COALESCE(hp.sumInsured, lp.sumAssured, cp.idv, bp.idv)";
+
+    String TRIAGE_SELECT = "SELECT new com.insurance.app.claim.dto.ClaimTriageDTO(c.claimId, c.user.id, p.purchaseId, "
+            + POLICY_TYPE + ", " + SUM_INSURED + ", c.uploadedAt) " + POLICY_JOINS;
+
+    // Pending claims with the policy type and sum insured used for triage, in id order
+    @Query(TRIAGE_SELECT + "WHERE c.claimStatus = 'PENDING' AND c.claimId > :after ORDER BY c.claimId")
+    List<ClaimTriageDTO> findPendingTriageAfter(@Param("after") Long after, Pageable pageable);
+
+    @Query(TRIAGE_SELECT + "WHERE c.claimId = :id AND c.claimStatus = 'PENDING'")
+    Optional<ClaimTriageDTO> findPendingTriageById(@Param("id") Long id);
+
+    // Everything the auto-adjudication rules look at, in one query
+    @Query("SELECT new com.insurance.app.claim.dto.ClaimFactsDTO(c.claimId, c.user.id, c.claimStatus, "
+            + POLICY_TYPE + ", " + SUM_INSURED + ", "
+            + "(SELECT COUNT(d) FROM Document d WHERE d.claim.claimId = c.claimId), "
+            + "(SELECT COUNT(d) FROM Document d WHERE d.claim.claimId = c.claimId AND d.verified = true), "
+            + "(SELECT COUNT(o) FROM Claim o WHERE o.user.id = c.user.id AND o.claimId <> c.claimId) "
+            + "+ (SELECT COUNT(a) FROM ArchivedClaim a WHERE a.userId = c.user.id), "
+            + "(SELECT COUNT(o) FROM Claim o WHERE o.user.id = c.user.id AND o.claimStatus = 'APPROVED') "
+            + "+ (SELECT COUNT(a) FROM ArchivedClaim a WHERE a.userId = c.user.id AND a.claimStatus = 'APPROVED'), "
+            + "(SELECT COUNT(o) FROM Claim o WHERE o.user.id = c.user.id AND o.claimStatus = 'REJECTED') "
+            + "+ (SELECT COUNT(a) FROM ArchivedClaim a WHERE a.userId = c.user.id AND a.claimStatus = 'REJECTED')) "
+            + POLICY_JOINS + "WHERE c.claimId = :id")
+    Optional<ClaimFactsDTO> findFactsById(@Param("id") Long id);
+
+    // Oldest closed claims first; claims decided before decidedAt existed fall back to their upload time
+    @Query("SELECT c.claimId FROM Claim c WHERE c.claimStatus IN :statuses "
+            + "AND COALESCE(c.decidedAt, c.uploadedAt) < :before ORDER BY c.claimId")
+    List<Long> findArchivableIds(@Param("statuses") Collection<String> statuses, @Param("before") LocalDateTime before,
+                                 Pageable pageable);
+
+    @Query("SELECT c.claimId, c.user.id, c.purchase.purchaseId, c.claimStatus, c.uploadedAt, c.decidedAt, c.riskScore "
+            + "FROM Claim c WHERE c.claimId IN :ids")
+    List<Object[]> findArchiveRows(@Param("ids") Collection<Long> ids);
+
+    // Customer withdrawal; only a claim still PENDING is removed, so a concurrent decision wins
+    @Modifying(clearAutomatically = true)
+    @Query("DELETE FROM Claim c WHERE c.claimId = :id AND c.claimStatus = 'PENDING'")
+    int deletePendingById(@Param("id") Long id);
+
+    @Modifying
+    @Query("DELETE FROM Claim c WHERE c.claimId IN :ids")
+    int deleteByClaimIdIn(@Param("ids") Collection<Long> ids);
+
+    // Bounds for partitioning the risk feature rebuild
+    @Query("SELECT MIN(c.claimId) FROM Claim c")
+    Long findMinClaimId();
+
+    @Query("SELECT MAX(c.claimId) FROM Claim c")
+    Long findMaxClaimId();
+
+    // User id, purchase id and raise time for one partition of the risk feature rebuild
+    @Query("SELECT c.user.id, c.purchase.purchaseId, c.uploadedAt FROM Claim c WHERE c.claimId BETWEEN :from AND :to")
+    List<Object[]> findRiskRowsBetween(@Param("from") Long from, @Param("to") Long to);
+
+    @Transactional
+    @Modifying(clearAutomatically = true)
+    @Query("UPDATE Claim c SET c.riskScore = CASE WHEN COALESCE(c.riskScore, 0) + :delta > 100 THEN 100 "
+            + "ELSE COALESCE(c.riskScore, 0) + :delta END WHERE c.claimId = :id")
+    int addRiskScore(@Param("id") Long id, @Param("delta") double delta);
+
+    // Status and claim count pairs, for the in-memory counters
+    @Query("SELECT c.claimStatus, COUNT(c) FROM Claim c GROUP BY c.claimStatus")
+    List<Object[]> countGroupedByStatus();
+
+    // User id and claim count pairs, for the in-memory counters
+    @Query("SELECT c.user.id, COUNT(c) FROM Claim c GROUP BY c.user.id")
+    List<Object[]> countGroupedByUser();
+
     // Check if user has claims
     boolean existsByUser_Id(Long userId);
 
     // Find claims by user and status
+    @EntityGraph(Claim.DETAILS_GRAPH)
     List<Claim> findByUser_IdAndClaimStatus(Long userId, String status);
 
     // Find recent claims (last 30 days)
+    @EntityGraph(Claim.DETAILS_GRAPH)
     @Query("SELECT c FROM Claim c WHERE c.uploadedAt >= :startDate ORDER BY c.uploadedAt DESC")
     List<Claim> findRecentClaims(@Param("startDate") LocalDateTime startDate);
 
+    // Current status only, used to explain why a conditional transition did not apply
+    @Query("SELECT c.claimStatus FROM Claim c WHERE c.claimId = :id")
+    Optional<String> findStatusById(@Param("id") Long id);
+
+    // Compare-and-set status change: applies only while the claim is still in one of the expected statuses
+    @Transactional
+    @Modifying(clearAutomatically = true)
+    @Query("UPDATE Claim c SET c.claimStatus = :to, c.decidedAt = :decidedAt WHERE c.claimId = :id AND c.claimStatus IN :from")
+    int transitionStatus(@Param("id") Long id, @Param("from") Collection<String> from, @Param("to") String to,
+                         @Param("decidedAt") LocalDateTime decidedAt);
+
+    // Set-based variant for bulk adjudication
+    @Transactional
+    @Modifying(clearAutomatically = true)
+    @Query("UPDATE Claim c SET c.claimStatus = :to, c.decidedAt = :decidedAt "
+            + "WHERE c.claimId IN :ids AND c.claimStatus IN :from")
+    int transitionStatusBulk(@Param("ids") Collection<Long> ids, @Param("from") Collection<String> from,
+                             @Param("to") String to, @Param("decidedAt") LocalDateTime decidedAt);
+
+    @Query("SELECT new com.insurance.app.claim.dto.ClaimStatusRowDTO(c.claimId, c.user.id, c.claimStatus) "
+            + "FROM Claim c WHERE c.claimId IN :ids")
+    List<ClaimStatusRowDTO> findStatusRows(@Param("ids") Collection<Long> ids);
+
+    // Owner, status and existing-claim flag of a purchase in one round trip; archived claims still count
+    @Query("SELECT new com.insurance.app.claim.dto.ClaimEligibilityDTO(p.purchaseId, p.user.id, p.status, "
+            + "(SELECT COUNT(c) FROM Claim c WHERE c.purchase.purchaseId = p.purchaseId) "
+            + "+ (SELECT COUNT(a) FROM ArchivedClaim a WHERE a.purchaseId = p.purchaseId), p.purchaseDate) "
+            + "FROM PolicyPurchase p WHERE p.purchaseId = :purchaseId")
+    Optional<ClaimEligibilityDTO> findClaimEligibility(@Param("purchaseId") Long purchaseId);
+
+    // Admin feed page, newest first, keyed on (uploadedAt, claimId); the Pageable only carries the limit
+    @Query("SELECT new com.insurance.app.claim.dto.ClaimResponseDTO(c.claimId, u.id, c.purchase.purchaseId, "
+            + "c.claimStatus, c.uploadedAt, u.name, u.email, c.riskScore) "
+            + "FROM Claim c JOIN c.user u "
+            + "WHERE (:status IS NULL OR c.claimStatus = :status) "
+            + "AND (:userId IS NULL OR u.id = :userId) "
+            + "AND (:from IS NULL OR c.uploadedAt >= :from) "
+            + "AND (:to IS NULL OR c.uploadedAt < :to) "
+            + "AND (:cursorAt IS NULL OR c.uploadedAt < :cursorAt "
+            + "     OR (c.uploadedAt = :cursorAt AND c.claimId < :cursorId)) "
+            + "ORDER BY c.uploadedAt DESC, c.claimId DESC")
+    List<ClaimResponseDTO> findFeedPage(@Param("status") String status,
+                                        @Param("userId") Long userId,
+                                        @Param("from") LocalDateTime from,
+                                        @Param("to") LocalDateTime to,
+                                        @Param("cursorAt") LocalDateTime cursorAt,
+                                        @Param("cursorId") Long cursorId,
+                                        Pageable limit);
+
 }
\ No newline at end of file
@@ -1,12 +1,38 @@
 package com.insurance.app.claim.repository;
 
 
+import com.insurance.app.claim.dto.DocumentDTO;
 import com.insurance.app.claim.entity.Document;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import java.util.Collection;
 import java.util.List;
 
 public interface DocumentRepository extends JpaRepository<Document, Long> {
     List<Document> findByClaim_ClaimId(Long claimId);
     List<Document> findByUser_Id(Long userId);
+
+    // Documents of many claims as DTOs, without loading their eager user and claim
+    @Query("SELECT new com.insurance.app.claim.dto.DocumentDTO(d.documentId, d.user.id, d.claim.claimId, "
+            + "d.documentType, d.fileUrl, d.uploadedAt, d.verified) FROM Document d WHERE d.claim.claimId IN :claimIds")
+    List<DocumentDTO> findDtosByClaimIdIn(@Param("claimIds") Collection<Long> claimIds);
+
+    @Modifying
+    @Query("DELETE FROM Document d WHERE d.claim.claimId IN :claimIds")
+    int deleteByClaimIdIn(@Param("claimIds") Collection<Long> claimIds);
+
+    // Bounds for partitioning the risk feature rebuild
+    @Query("SELECT MIN(d.documentId) FROM Document d")
+    Long findMinDocumentId();
+
+    @Query("SELECT MAX(d.documentId) FROM Document d")
+    Long findMaxDocumentId();
+
+    // Content hash and claim id for one partition of the risk feature rebuild
+    @Query("SELECT d.contentHash, d.claim.claimId FROM Document d "
+            + "WHERE d.documentId BETWEEN :from AND :to AND d.contentHash IS NOT NULL")
+    List<Object[]> findHashesBetween(@Param("from") Long from, @Param("to") Long to);
 }
 
@@ -2,8 +2,18 @@ package com.insurance.app.claim.repository;
 
 import com.insurance.app.claim.entity.Notification;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.util.Collection;
 import java.util.List;
 
 public interface NotificationRepository extends JpaRepository<Notification, Long> {
     List<Notification> findByUser_Id(Long userId);
+
+    // Notifications outlive archived claims; only the link is dropped
+    @Modifying
+    @Query("UPDATE Notification n SET n.claim = NULL WHERE n.claim.claimId IN :claimIds")
+    int unlinkClaims(@Param("claimIds") Collection<Long> claimIds);
 }
\ No newline at end of file
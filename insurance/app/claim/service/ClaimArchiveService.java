@@ -0,0 +1,223 @@
+package com.insurance.app.claim.service;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.insurance.app.auth.entity.Users;
+import com.insurance.app.auth.repository.UserRepository;
+import com.insurance.app.claim.dto.DocumentDTO;
+import com.insurance.app.claim.entity.ArchivedClaim;
+import com.insurance.app.claim.entity.Claim;
+import com.insurance.app.claim.entity.ClaimStatus;
+import com.insurance.app.claim.repository.ArchivedClaimRepository;
+import com.insurance.app.claim.repository.ClaimRepository;
+import com.insurance.app.claim.repository.DocumentRepository;
+import com.insurance.app.claim.repository.NotificationRepository;
+import com.insurance.app.purchase.entity.PolicyPurchase;
+import com.insurance.app.purchase.repository.PolicyPurchaseRepository;
+
+/**
+ * Moves claims that have been APPROVED or REJECTED for longer than claims.archive.after-days
+ * out of the hot claim table into claim_archive, one bounded batch per transaction.
+ * A claim's documents go with it as gzipped JSON, since documents cannot outlive their claim row;
+ * notifications stay and lose only their claim link. Archived claims are read back through
+ * ClaimService.getClaimById and getClaimsByUser.
+ */
+@Service
+public class ClaimArchiveService {
+
+    private static final Logger logger = LoggerFactory.getLogger(ClaimArchiveService.class);
+    private static final TypeReference<List<DocumentDTO>> DOCUMENT_LIST = new TypeReference<>() {};
+
+    private final ClaimRepository claimRepository;
+    private final ArchivedClaimRepository archivedClaimRepository;
+    private final DocumentRepository documentRepository;
+    private final NotificationRepository notificationRepository;
+    private final UserRepository userRepository;
+    private final PolicyPurchaseRepository purchaseRepository;
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final ObjectMapper objectMapper;
+    private final long afterDays;
+    private final int batchSize;
+    private final int maxBatchesPerRun;
+
+    private final AtomicLong archived = new AtomicLong();
+    private final AtomicLong runs = new AtomicLong();
+    private final AtomicLong lastRunMillis = new AtomicLong();
+
+    public ClaimArchiveService(ClaimRepository claimRepository, ArchivedClaimRepository archivedClaimRepository,
+                               DocumentRepository documentRepository, NotificationRepository notificationRepository,
+                               UserRepository userRepository, PolicyPurchaseRepository purchaseRepository,
+                               JdbcTemplate jdbcTemplate, TransactionTemplate transactionTemplate, ObjectMapper objectMapper,
+                               @Value("${claims.archive.after-days:180}") long afterDays,
+                               @Value("${claims.archive.batch-size:500}") int batchSize,
+                               @Value("${claims.archive.max-batches-per-run:100}") int maxBatchesPerRun) {
+        this.claimRepository = claimRepository;
+        this.archivedClaimRepository = archivedClaimRepository;
+        this.documentRepository = documentRepository;
+        this.notificationRepository = notificationRepository;
+        this.userRepository = userRepository;
+        this.purchaseRepository = purchaseRepository;
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = transactionTemplate;
+        this.objectMapper = objectMapper;
+        this.afterDays = afterDays;
+        this.batchSize = batchSize;
+        this.maxBatchesPerRun = maxBatchesPerRun;
+    }
+
+    @Scheduled(cron = "${claims.archive.cron:0 30 2 * * *}")
+    public void archiveClosedClaims() {
+        long start = System.currentTimeMillis();
+        LocalDateTime before = LocalDateTime.now().minusDays(afterDays);
+        List<String> closed = List.of(ClaimStatus.APPROVED.name(), ClaimStatus.REJECTED.name());
+        int total = 0;
+        for (int run = 0; run < maxBatchesPerRun; run++) {
+            Integer archived = transactionTemplate.execute(status -> {
+                List<Long> ids = claimRepository.findArchivableIds(closed, before, PageRequest.of(0, batchSize));
+                return ids.isEmpty() ? 0 : archiveBatch(ids);
+            });
+            total += archived == null ? 0 : archived;
+            if (archived == null || archived < batchSize) {
+                break;
+            }
+        }
+        archived.addAndGet(total);
+        runs.incrementAndGet();
+        lastRunMillis.set(System.currentTimeMillis() - start);
+        if (total > 0) {
+            logger.info("Archived {} claims closed before {}", total, before);
+        }
+    }
+
+    public Map<String, Long> getStats() {
+        Map<String, Long> stats = new LinkedHashMap<>();
+        stats.put("archivedClaims", archivedClaimRepository.count());
+        stats.put("archivedSinceStart", archived.get());
+        stats.put("runs", runs.get());
+        stats.put("lastRunMillis", lastRunMillis.get());
+        return stats;
+    }
+
+    private int archiveBatch(List<Long> ids) {
+        Map<Long, List<DocumentDTO>> documents = new HashMap<>();
+        for (DocumentDTO document : documentRepository.findDtosByClaimIdIn(ids)) {
+            documents.computeIfAbsent(document.getClaimId(), k -> new ArrayList<>()).add(document);
+        }
+
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+        List<Object[]> rows = new ArrayList<>(ids.size());
+        for (Object[] claim : claimRepository.findArchiveRows(ids)) {
+            rows.add(new Object[]{claim[0], claim[1], claim[2], claim[3], timestamp(claim[4]), timestamp(claim[5]),
+                    claim[6], now, compress(documents.get((Long) claim[0]))});
+        }
+        jdbcTemplate.batchUpdate("INSERT INTO claim_archive (claim_id, user_id, purchase_id, claim_status, uploaded_at, "
+                + "decided_at, risk_score, archived_at, documents) VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?)", rows);
+
+        notificationRepository.unlinkClaims(ids);
+        documentRepository.deleteByClaimIdIn(ids);
+        claimRepository.deleteByClaimIdIn(ids);
+        return rows.size();
+    }
+
+    public Optional<Claim> findArchivedClaim(Long claimId) {
+        return archivedClaimRepository.findById(claimId).map(archived -> toClaim(archived,
+                userRepository.findById(archived.getUserId()).orElse(null),
+                purchaseRepository.findById(archived.getPurchaseId()).orElse(null)));
+    }
+
+    public List<Claim> findArchivedClaimsByUser(Long userId) {
+        List<ArchivedClaim> archived = archivedClaimRepository.findByUserIdOrderByClaimId(userId);
+        if (archived.isEmpty()) {
+            return List.of();
+        }
+        // One query for the user and one for all of their purchases, instead of both per archived claim
+        Users user = userRepository.findById(userId).orElse(null);
+        Map<Long, PolicyPurchase> purchases = new HashMap<>();
+        for (PolicyPurchase purchase : purchaseRepository.findByUser_Id(userId)) {
+            purchases.put(purchase.getPurchaseId(), purchase);
+        }
+        List<Claim> claims = new ArrayList<>(archived.size());
+        for (ArchivedClaim claim : archived) {
+            claims.add(toClaim(claim, user, purchases.get(claim.getPurchaseId())));
+        }
+        return claims;
+    }
+
+    public List<DocumentDTO> findArchivedDocuments(Long claimId) {
+        return archivedClaimRepository.findById(claimId)
+                .map(archived -> decompress(archived.getDocuments()))
+                .orElse(List.of());
+    }
+
+    public Optional<String> findArchivedStatus(Long claimId) {
+        return archivedClaimRepository.findById(claimId).map(ArchivedClaim::getClaimStatus);
+    }
+
+    // Detached Claim for read-only callers; never saved back
+    private Claim toClaim(ArchivedClaim archived, Users user, PolicyPurchase purchase) {
+        return Claim.builder()
+                .claimId(archived.getClaimId())
+                .user(user)
+                .purchase(purchase)
+                .claimStatus(archived.getClaimStatus())
+                .uploadedAt(archived.getUploadedAt())
+                .decidedAt(archived.getDecidedAt())
+                .riskScore(archived.getRiskScore())
+                .build();
+    }
+
+    private byte[] compress(List<DocumentDTO> documents) {
+        if (documents == null || documents.isEmpty()) {
+            return null;
+        }
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (OutputStream out = new GZIPOutputStream(bytes)) {
+            objectMapper.writeValue(out, documents);
+        } catch (IOException e) {
+            throw new RuntimeException("Archiving claim documents failed", e);
+        }
+        return bytes.toByteArray();
+    }
+
+    private List<DocumentDTO> decompress(byte[] documents) {
+        if (documents == null) {
+            return List.of();
+        }
+        try (InputStream in = new GZIPInputStream(new ByteArrayInputStream(documents))) {
+            return objectMapper.readValue(in, DOCUMENT_LIST);
+        } catch (IOException e) {
+            throw new RuntimeException("Reading archived claim documents failed", e);
+        }
+    }
+
+    private static Timestamp timestamp(Object value) {
+        return value == null ? null : Timestamp.valueOf((LocalDateTime) value);
+    }
+}
@@ -0,0 +1,172 @@
+package com.insurance.app.claim.service;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import com.insurance.app.claim.dto.ClaimFactsDTO;
+import com.insurance.app.claim.entity.ClaimEvent;
+import com.insurance.app.claim.entity.ClaimEventType;
+import com.insurance.app.claim.entity.ClaimStatus;
+import com.insurance.app.claim.exception.ClaimConflictException;
+import com.insurance.app.claim.repository.ClaimRepository;
+
+/**
+ * Decides newly raised claims off the request path. Each claim is evaluated on a small worker pool
+ * when it is raised and again when one of its documents is verified. The first matching rule
+ * approves, rejects or sends it to manual review; claims no rule matches also stay PENDING.
+ * A claim whose policy cannot be resolved is never approved automatically, whatever the rules say.
+ * Nor is a claim rejected when it is raised: it cannot have documents yet, so a REJECT at that point
+ * goes to manual review and rejection waits until a document has been verified.
+ * Evaluation time is recorded so rule changes can be compared in /auto-adjudication/stats.
+ */
+@Component
+public class ClaimAutoAdjudicator implements ClaimEventSubscriber {
+
+    private static final Logger logger = LoggerFactory.getLogger(ClaimAutoAdjudicator.class);
+
+    private final ClaimRepository claimRepository;
+    private final ClaimService claimService;
+    private final boolean enabled;
+    private final List<ClaimRule> rules;
+    private final ThreadPoolExecutor executor;
+
+    private final AtomicLong evaluated = new AtomicLong();
+    private final AtomicLong evaluationNanos = new AtomicLong();
+    private final AtomicLong approved = new AtomicLong();
+    private final AtomicLong rejected = new AtomicLong();
+    private final AtomicLong manual = new AtomicLong();
+    private final AtomicLong skipped = new AtomicLong();
+
+    public ClaimAutoAdjudicator(ClaimRepository claimRepository, ClaimService claimService,
+                                ObjectProvider<ClaimRule> ruleBeans,
+                                @Value("${claims.auto-adjudication.enabled:false}") boolean enabled,
+                                @Value("${claims.auto-adjudication.rules:"
+                                        + "REJECT: priorRejected >= 3 && priorApproved == 0;"
+                                        + "APPROVE: policyType != UNKNOWN && sumInsured > 0 && sumInsured <= 50000 "
+                                        + "&& verifiedDocuments >= 1 && unverifiedDocuments == 0 && priorRejected == 0}")
+                                String ruleSpec,
+                                @Value("${claims.auto-adjudication.threads:2}") int threads,
+                                @Value("${claims.auto-adjudication.queue-capacity:1000}") int queueCapacity) {
+        this.claimRepository = claimRepository;
+        this.claimService = claimService;
+        this.enabled = enabled;
+        // Configured rules first, then any rule beans, all compiled once here
+        List<ClaimRule> all = new ArrayList<>(CompiledClaimRule.compileAll(ruleSpec));
+        ruleBeans.orderedStream().forEach(all::add);
+        this.rules = List.copyOf(all);
+        this.executor = new ThreadPoolExecutor(threads, threads, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queueCapacity), r -> {
+                    Thread t = new Thread(r, "claim-adjudication");
+                    t.setDaemon(true);
+                    return t;
+                });
+    }
+
+    @Override
+    public void onClaimEvents(List<ClaimEvent> events) {
+        for (ClaimEvent event : events) {
+            if (event.getEventType() == ClaimEventType.RAISED) {
+                submit(event.getClaimId(), false);
+            }
+        }
+    }
+
+    // Called once one of the claim's documents has been verified
+    public void submit(Long claimId) {
+        submit(claimId, true);
+    }
+
+    // Queues a pending claim for evaluation; a full queue leaves it to an adjuster
+    private void submit(Long claimId, boolean mayReject) {
+        if (!enabled || claimId == null) {
+            return;
+        }
+        try {
+            executor.execute(() -> adjudicate(claimId, mayReject));
+        } catch (RejectedExecutionException e) {
+            skipped.incrementAndGet();
+        }
+    }
+
+    public Map<String, Long> getStats() {
+        long count = evaluated.get();
+        Map<String, Long> stats = new LinkedHashMap<>();
+        stats.put("rules", (long) rules.size());
+        stats.put("evaluated", count);
+        stats.put("avgEvaluationNanos", count == 0 ? 0 : evaluationNanos.get() / count);
+        stats.put("approved", approved.get());
+        stats.put("rejected", rejected.get());
+        stats.put("manual", manual.get());
+        stats.put("skipped", skipped.get());
+        stats.put("queued", (long) executor.getQueue().size());
+        return stats;
+    }
+
+    // First matching rule, or MANUAL when none match
+    ClaimRule.Decision evaluate(ClaimFactsDTO facts) {
+        long start = System.nanoTime();
+        try {
+            for (ClaimRule rule : rules) {
+                if (rule.matches(facts)) {
+                    return rule.getDecision();
+                }
+            }
+            return ClaimRule.Decision.MANUAL;
+        } finally {
+            evaluationNanos.addAndGet(System.nanoTime() - start);
+            evaluated.incrementAndGet();
+        }
+    }
+
+    // Policy type and cover come from the purchase's policy; without them there is nothing to approve against
+    private static boolean hasPolicyFacts(ClaimFactsDTO facts) {
+        return !"UNKNOWN".equals(facts.getPolicyType()) && facts.getSumInsured() > 0;
+    }
+
+    private void adjudicate(Long claimId, boolean mayReject) {
+        try {
+            ClaimFactsDTO facts = claimRepository.findFactsById(claimId).orElse(null);
+            if (facts == null || !ClaimStatus.PENDING.name().equals(facts.getClaimStatus())) {
+                return;
+            }
+            ClaimRule.Decision decision = evaluate(facts);
+            if (decision == ClaimRule.Decision.APPROVE && !hasPolicyFacts(facts)) {
+                decision = ClaimRule.Decision.MANUAL;
+            }
+            if (decision == ClaimRule.Decision.REJECT && !mayReject) {
+                decision = ClaimRule.Decision.MANUAL;
+            }
+            switch (decision) {
+                case APPROVE:
+                    claimService.applyAutomaticDecision(claimId, ClaimStatus.APPROVED);
+                    approved.incrementAndGet();
+                    break;
+                case REJECT:
+                    claimService.applyAutomaticDecision(claimId, ClaimStatus.REJECTED);
+                    rejected.incrementAndGet();
+                    break;
+                default:
+                    manual.incrementAndGet();
+            }
+        } catch (ClaimConflictException e) {
+            // An adjuster or the customer got there first
+            skipped.incrementAndGet();
+        } catch (RuntimeException e) {
+            logger.error("Automatic adjudication of claim {} failed", claimId, e);
+            skipped.incrementAndGet();
+        }
+    }
+}
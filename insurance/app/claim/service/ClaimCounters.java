@@ -0,0 +1,130 @@
+package com.insurance.app.claim.service;
+
+import java.util.EnumMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import com.insurance.app.claim.entity.ClaimEvent;
+import com.insurance.app.claim.entity.ClaimStatus;
+import com.insurance.app.claim.repository.ArchivedClaimRepository;
+import com.insurance.app.claim.repository.ClaimRepository;
+
+/**
+ * Claim counts by status and by user, kept in memory for the dashboards.
+ * Loaded at startup, adjusted from the claim outbox as events are relayed,
+ * and periodically replaced by a fresh GROUP BY count to correct any drift.
+ * Archived claims are counted too, so archiving does not move the numbers.
+ */
+@Component
+public class ClaimCounters implements ClaimEventSubscriber {
+
+    private final ClaimRepository claimRepository;
+    private final ArchivedClaimRepository archivedClaimRepository;
+
+    private final Map<ClaimStatus, AtomicLong> byStatus = new EnumMap<>(ClaimStatus.class);
+    private final Map<Long, AtomicLong> byUser = new ConcurrentHashMap<>();
+    private volatile boolean loaded;
+
+    public ClaimCounters(ClaimRepository claimRepository, ArchivedClaimRepository archivedClaimRepository) {
+        this.claimRepository = claimRepository;
+        this.archivedClaimRepository = archivedClaimRepository;
+        for (ClaimStatus status : ClaimStatus.values()) {
+            byStatus.put(status, new AtomicLong());
+        }
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    @Scheduled(fixedDelayString = "${claims.counters.reconcile-ms:300000}", initialDelayString = "${claims.counters.reconcile-ms:300000}")
+    public void reconcile() {
+        Map<ClaimStatus, Long> statusCounts = new EnumMap<>(ClaimStatus.class);
+        addStatusCounts(statusCounts, claimRepository.countGroupedByStatus());
+        addStatusCounts(statusCounts, archivedClaimRepository.countGroupedByStatus());
+        Map<Long, Long> userCounts = new ConcurrentHashMap<>();
+        for (Object[] row : claimRepository.countGroupedByUser()) {
+            userCounts.merge((Long) row[0], (Long) row[1], Long::sum);
+        }
+        for (Object[] row : archivedClaimRepository.countGroupedByUser()) {
+            userCounts.merge((Long) row[0], (Long) row[1], Long::sum);
+        }
+
+        // Events relayed while the counts above are read may be counted twice or not at all;
+        // the next reconcile corrects that, so the window is bounded by the interval
+        synchronized (this) {
+            for (ClaimStatus status : ClaimStatus.values()) {
+                byStatus.get(status).set(statusCounts.getOrDefault(status, 0L));
+            }
+            byUser.keySet().retainAll(userCounts.keySet());
+            userCounts.forEach((userId, count) -> byUser.computeIfAbsent(userId, k -> new AtomicLong()).set(count));
+            loaded = true;
+        }
+    }
+
+    private static void addStatusCounts(Map<ClaimStatus, Long> counts, List<Object[]> rows) {
+        for (Object[] row : rows) {
+            ClaimStatus status = ClaimStatus.fromString((String) row[0]);
+            if (status != null) {
+                counts.merge(status, (Long) row[1], Long::sum);
+            }
+        }
+    }
+
+    public boolean isLoaded() {
+        return loaded;
+    }
+
+    public long countByStatus(ClaimStatus status) {
+        return byStatus.get(status).get();
+    }
+
+    public long countByUser(Long userId) {
+        AtomicLong count = byUser.get(userId);
+        return count == null ? 0 : count.get();
+    }
+
+    public Map<String, Long> snapshot() {
+        Map<String, Long> counts = new LinkedHashMap<>();
+        long total = 0;
+        for (ClaimStatus status : ClaimStatus.values()) {
+            long count = byStatus.get(status).get();
+            counts.put(status.name(), count);
+            total += count;
+        }
+        counts.put("TOTAL", total);
+        counts.put("users", (long) byUser.size());
+        return counts;
+    }
+
+    @Override
+    public synchronized void onClaimEvents(List<ClaimEvent> events) {
+        for (ClaimEvent event : events) {
+            ClaimStatus from = ClaimStatus.fromString(event.getFromStatus());
+            ClaimStatus to = ClaimStatus.fromString(event.getToStatus());
+            switch (event.getEventType()) {
+                case RAISED:
+                    byStatus.get(ClaimStatus.PENDING).incrementAndGet();
+                    byUser.computeIfAbsent(event.getUserId(), k -> new AtomicLong()).incrementAndGet();
+                    break;
+                case WITHDRAWN:
+                    if (from != null) {
+                        byStatus.get(from).decrementAndGet();
+                    }
+                    byUser.computeIfPresent(event.getUserId(), (k, count) -> count.decrementAndGet() <= 0 ? null : count);
+                    break;
+                default:
+                    // An unknown source status is left for the next reconcile
+                    if (from != null && to != null && from != to) {
+                        byStatus.get(from).decrementAndGet();
+                        byStatus.get(to).incrementAndGet();
+                    }
+            }
+        }
+    }
+}
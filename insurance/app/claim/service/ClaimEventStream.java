@@ -0,0 +1,231 @@
+package com.insurance.app.claim.service;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import com.insurance.app.claim.dto.ClaimStreamEventDTO;
+import com.insurance.app.claim.entity.ClaimEvent;
+
+/**
+ * Server-sent event subscriptions per customer.
+ *
+ * Each subscription is an async servlet response, so an idle subscriber holds no thread,
+ * only its emitter. Claim events arrive from the outbox relay and notifications from
+ * NotificationService. Every connection has its own bounded queue and at most one writer at a
+ * time, so its events arrive in order; writes run on a small pool so a slow client never holds
+ * up the relay. Heartbeats go out in slices of connections, one pool task per slice, and find
+ * dead connections, which are then dropped.
+ */
+@Component
+public class ClaimEventStream implements ClaimEventSubscriber {
+
+    private final long timeoutMillis;
+    private final int maxPerUser;
+    private final int maxPendingPerConnection;
+    private final int heartbeatSlice;
+    private final Map<Long, List<Subscriber>> emitters = new ConcurrentHashMap<>();
+    private final AtomicLong dropped = new AtomicLong();
+    private final ThreadPoolExecutor sender;
+
+    public ClaimEventStream(@Value("${claims.stream.timeout-ms:1800000}") long timeoutMillis,
+                            @Value("${claims.stream.max-per-user:5}") int maxPerUser,
+                            @Value("${claims.stream.sender-threads:2}") int senderThreads,
+                            @Value("${claims.stream.queue-capacity:10000}") int queueCapacity,
+                            @Value("${claims.stream.max-pending-per-connection:100}") int maxPendingPerConnection,
+                            @Value("${claims.stream.heartbeat-slice:500}") int heartbeatSlice) {
+        this.timeoutMillis = timeoutMillis;
+        this.maxPerUser = maxPerUser;
+        this.maxPendingPerConnection = maxPendingPerConnection;
+        this.heartbeatSlice = Math.max(heartbeatSlice, 1);
+        this.sender = new ThreadPoolExecutor(senderThreads, senderThreads, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queueCapacity), r -> {
+                    Thread t = new Thread(r, "claim-stream");
+                    t.setDaemon(true);
+                    return t;
+                });
+    }
+
+    public SseEmitter subscribe(Long userId) {
+        SseEmitter emitter = new SseEmitter(timeoutMillis);
+        Subscriber subscriber = new Subscriber(userId, emitter);
+        List<Subscriber> evicted = new ArrayList<>();
+        emitters.compute(userId, (k, userEmitters) -> {
+            List<Subscriber> list = userEmitters != null ? userEmitters : new CopyOnWriteArrayList<>();
+            // Oldest connection goes first when a customer opens more tabs than allowed
+            while (list.size() >= maxPerUser) {
+                evicted.add(list.remove(0));
+            }
+            list.add(subscriber);
+            return list;
+        });
+        // Completed outside compute, since completion callbacks unsubscribe through the same map
+        evicted.forEach(s -> s.emitter.complete());
+
+        Runnable remove = () -> unsubscribe(subscriber);
+        emitter.onCompletion(remove);
+        emitter.onTimeout(remove);
+        emitter.onError(e -> remove.run());
+        subscriber.enqueue(SseEmitter.event().comment("connected"));
+        return emitter;
+    }
+
+    @Override
+    public void onClaimEvents(List<ClaimEvent> events) {
+        for (ClaimEvent event : events) {
+            if (event.getUserId() != null && emitters.containsKey(event.getUserId())) {
+                publish(event.getUserId(), "claim", new ClaimStreamEventDTO(event.getClaimId(),
+                        event.getEventType().name(), event.getToStatus(), null));
+            }
+        }
+    }
+
+    public void publishNotification(Long userId, Long claimId, String message) {
+        if (emitters.containsKey(userId)) {
+            publish(userId, "notification", new ClaimStreamEventDTO(claimId, "NOTIFICATION", null, message));
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${claims.stream.heartbeat-ms:25000}")
+    public void heartbeat() {
+        List<Subscriber> all = new ArrayList<>();
+        emitters.values().forEach(all::addAll);
+        for (int from = 0; from < all.size(); from += heartbeatSlice) {
+            List<Subscriber> slice = all.subList(from, Math.min(from + heartbeatSlice, all.size()));
+            try {
+                sender.execute(() -> slice.forEach(Subscriber::heartbeat));
+            } catch (RejectedExecutionException e) {
+                // The pool is busy writing events; those connections are evidently alive, next round pings them
+                break;
+            }
+        }
+    }
+
+    public Map<String, Long> getStats() {
+        long connections = 0;
+        long pending = 0;
+        for (List<Subscriber> userEmitters : emitters.values()) {
+            connections += userEmitters.size();
+            for (Subscriber subscriber : userEmitters) {
+                pending += subscriber.size.get();
+            }
+        }
+        Map<String, Long> stats = new LinkedHashMap<>();
+        stats.put("users", (long) emitters.size());
+        stats.put("connections", connections);
+        stats.put("pending", pending);
+        stats.put("queued", (long) sender.getQueue().size());
+        stats.put("dropped", dropped.get());
+        return stats;
+    }
+
+    private void publish(Long userId, String name, ClaimStreamEventDTO payload) {
+        List<Subscriber> userEmitters = emitters.get(userId);
+        if (userEmitters == null) {
+            return;
+        }
+        for (Subscriber subscriber : userEmitters) {
+            subscriber.enqueue(SseEmitter.event().name(name).data(payload));
+        }
+    }
+
+    private void unsubscribe(Subscriber subscriber) {
+        emitters.computeIfPresent(subscriber.userId, (k, userEmitters) -> {
+            userEmitters.remove(subscriber);
+            return userEmitters.isEmpty() ? null : userEmitters;
+        });
+    }
+
+    /**
+     * One connection: its pending events and a flag that admits a single writer at a time.
+     */
+    private final class Subscriber {
+        private final Long userId;
+        private final SseEmitter emitter;
+        private final Queue<SseEmitter.SseEventBuilder> pending = new ConcurrentLinkedQueue<>();
+        private final AtomicInteger size = new AtomicInteger();
+        private final AtomicBoolean writing = new AtomicBoolean();
+
+        private Subscriber(Long userId, SseEmitter emitter) {
+            this.userId = userId;
+            this.emitter = emitter;
+        }
+
+        void enqueue(SseEmitter.SseEventBuilder event) {
+            if (size.incrementAndGet() > maxPendingPerConnection) {
+                // A client this far behind is better served by re-reading on reconnect
+                size.decrementAndGet();
+                dropped.incrementAndGet();
+                return;
+            }
+            pending.add(event);
+            schedule();
+        }
+
+        // Hands the queue to a pool writer unless one already owns it
+        private void schedule() {
+            if (!writing.compareAndSet(false, true)) {
+                return;
+            }
+            try {
+                sender.execute(() -> drain(false));
+            } catch (RejectedExecutionException e) {
+                // Pool saturated; the events stay queued and the next heartbeat slice writes them
+                writing.set(false);
+            }
+        }
+
+        // Runs from a heartbeat slice; a connection with a writer already at work needs no ping
+        void heartbeat() {
+            if (writing.compareAndSet(false, true)) {
+                drain(true);
+            }
+        }
+
+        // Called only by the thread that set writing
+        private void drain(boolean ping) {
+            try {
+                boolean wrote = false;
+                SseEmitter.SseEventBuilder event;
+                while ((event = pending.poll()) != null) {
+                    size.decrementAndGet();
+                    emitter.send(event);
+                    wrote = true;
+                }
+                if (ping && !wrote) {
+                    emitter.send(SseEmitter.event().comment("ping"));
+                }
+            } catch (IOException | IllegalStateException e) {
+                // Client went away; the servlet container reports it on the next write
+                pending.clear();
+                size.set(0);
+                unsubscribe(this);
+                return;
+            } finally {
+                writing.set(false);
+            }
+            // Events that arrived after the last poll but before the flag was released
+            if (!pending.isEmpty()) {
+                schedule();
+            }
+        }
+    }
+}
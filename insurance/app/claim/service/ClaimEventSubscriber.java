@@ -0,0 +1,23 @@
+package com.insurance.app.claim.service;
+
+import java.util.List;
+
+import com.insurance.app.claim.entity.ClaimEvent;
+
+/**
+ * In-process consumer of the claim outbox. The relay hands each subscriber the same
+ * batch in event order, after the claim changes in it have committed.
+ *
+ * Subscribers that write to the database return true from writesInTransaction: they run inside
+ * the relay transaction, before the batch is marked processed, and a failure rolls the batch back
+ * for redelivery. All other subscribers keep in-memory state and run only once that transaction
+ * has committed, so a redelivered batch never reaches them twice.
+ */
+public interface ClaimEventSubscriber {
+
+    void onClaimEvents(List<ClaimEvent> events);
+
+    default boolean writesInTransaction() {
+        return false;
+    }
+}
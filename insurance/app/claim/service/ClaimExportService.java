@@ -0,0 +1,231 @@
+package com.insurance.app.claim.service;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+import java.util.zip.GZIPOutputStream;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+/**
+ * Streams claims straight from a forward-only JDBC cursor into the response.
+ * Rows are written as they are read, so memory use is bounded by the driver fetch size
+ * and the output buffer, not by the number of claims.
+ *
+ * MySQL Connector/J buffers the whole result for any ordinary fetch size; it only streams row
+ * by row when the fetch size is Integer.MIN_VALUE (or with useCursorFetch=true on the JDBC URL),
+ * so with that driver the statement asks for it. Other drivers, including MariaDB's, stream with
+ * claims.export.fetch-size; PostgreSQL also needs the read-only transaction below.
+ * Arguments are validated by the caller, before the response starts.
+ */
+@Service
+public class ClaimExportService {
+
+    private static final int BUFFER_SIZE = 64 * 1024;
+
+    private static final String POLICY_TYPE_SQL = "CASE WHEN p.health_policy_id IS NOT NULL THEN 'HEALTH' "
+            + "WHEN p.life_policy_id IS NOT NULL THEN 'LIFE' WHEN p.car_policy_id IS NOT NULL THEN 'CAR' "
+            + "WHEN p.bike_policy_id IS NOT NULL THEN 'BIKE' ELSE 'UNKNOWN' END";
+
+    // Archived claims first: every archived id is older than any id still in claim, so the two ordered
+    // scans written back to back are in claim_id order without sorting a union of both tables
+    private static final List<String> CLAIM_TABLES = List.of("claim_archive", "claim");
+
+    private final JdbcTemplate jdbcTemplate;
+    private final JsonFactory jsonFactory;
+    private final int fetchSize;
+
+    public ClaimExportService(JdbcTemplate jdbcTemplate, ObjectMapper objectMapper,
+                              @Value("${claims.export.fetch-size:1000}") int fetchSize) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.jsonFactory = objectMapper.getFactory();
+        this.fetchSize = fetchSize;
+    }
+
+    // Integer.MIN_VALUE is Connector/J's signal to stream instead of buffering the result
+    private int streamingFetchSize(String driverName) {
+        boolean connectorJ = driverName != null && driverName.toLowerCase(Locale.ROOT).contains("mysql");
+        return connectorJ ? Integer.MIN_VALUE : fetchSize;
+    }
+
+    public static boolean isSupportedFormat(String format) {
+        return "csv".equals(format) || "ndjson".equals(format);
+    }
+
+    // Read-only transaction so drivers that only stream inside one (PostgreSQL) use a server-side cursor
+    @Transactional(readOnly = true)
+    public void export(OutputStream target, String format, Set<String> include, String status,
+                       LocalDateTime from, LocalDateTime to, boolean gzip) throws IOException {
+        boolean withPurchase = include.contains("purchase");
+        boolean withUser = include.contains("user");
+
+        List<String> columns = new ArrayList<>(List.of("claim_id", "claim_status", "uploaded_at", "user_id", "purchase_id"));
+        StringBuilder sql = new StringBuilder("SELECT c.claim_id, c.claim_status, c.uploaded_at, c.user_id, c.purchase_id");
+        if (withPurchase) {
+            columns.addAll(List.of("policy_type", "purchase_status", "purchase_date", "expiry_date"));
+            sql.append(", ").append(POLICY_TYPE_SQL).append(", p.status, p.purchase_date, p.expiry_date");
+        }
+        if (withUser) {
+            columns.addAll(List.of("user_name", "user_email"));
+            sql.append(", u.name, u.email");
+        }
+        StringBuilder rest = new StringBuilder(" c");
+        if (withPurchase) {
+            rest.append(" JOIN policy_purchases p ON p.purchase_id = c.purchase_id");
+        }
+        if (withUser) {
+            rest.append(" JOIN users u ON u.id = c.user_id");
+        }
+        rest.append(" WHERE 1 = 1");
+        List<Object> args = new ArrayList<>();
+        if (status != null) {
+            rest.append(" AND c.claim_status = ?");
+            args.add(status);
+        }
+        if (from != null) {
+            rest.append(" AND c.uploaded_at >= ?");
+            args.add(Timestamp.valueOf(from));
+        }
+        if (to != null) {
+            rest.append(" AND c.uploaded_at < ?");
+            args.add(Timestamp.valueOf(to));
+        }
+        rest.append(" ORDER BY c.claim_id");
+
+        OutputStream out = gzip ? new GZIPOutputStream(target, BUFFER_SIZE) : target;
+        Writer writer = new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8), BUFFER_SIZE);
+        RowWriter rows = "ndjson".equals(format) ? new NdjsonWriter(writer, columns) : new CsvWriter(writer, columns);
+
+        for (String table : CLAIM_TABLES) {
+            String query = sql + " FROM " + table + rest;
+            jdbcTemplate.query(con -> {
+                PreparedStatement ps = con.prepareStatement(query, ResultSet.TYPE_FORWARD_ONLY, ResultSet.CONCUR_READ_ONLY);
+                ps.setFetchSize(streamingFetchSize(con.getMetaData().getDriverName()));
+                for (int i = 0; i < args.size(); i++) {
+                    ps.setObject(i + 1, args.get(i));
+                }
+                return ps;
+            }, rs -> {
+                try {
+                    rows.write(rs);
+                } catch (IOException e) {
+                    // Client went away; the exception ends the query and releases the cursor
+                    throw new UncheckedIOException(e);
+                }
+            });
+        }
+
+        writer.flush();
+        if (gzip) {
+            ((GZIPOutputStream) out).finish();
+        }
+        target.flush();
+    }
+
+    // ISO dates instead of the JDBC toString forms
+    private static String text(Object value) {
+        if (value instanceof Timestamp) {
+            return ((Timestamp) value).toLocalDateTime().toString();
+        }
+        if (value instanceof java.sql.Date) {
+            return ((java.sql.Date) value).toLocalDate().toString();
+        }
+        return value == null ? null : value.toString();
+    }
+
+    private interface RowWriter {
+        void write(ResultSet rs) throws IOException, SQLException;
+    }
+
+    private static final class CsvWriter implements RowWriter {
+        private final Writer writer;
+        private final int columnCount;
+
+        private CsvWriter(Writer writer, List<String> columns) throws IOException {
+            this.writer = writer;
+            this.columnCount = columns.size();
+            writer.write(String.join(",", columns));
+            writer.write("\r\n");
+        }
+
+        @Override
+        public void write(ResultSet rs) throws IOException, SQLException {
+            for (int i = 1; i <= columnCount; i++) {
+                if (i > 1) {
+                    writer.write(',');
+                }
+                String value = text(rs.getObject(i));
+                if (value != null) {
+                    writeField(value);
+                }
+            }
+            writer.write("\r\n");
+        }
+
+        // RFC 4180 quoting, only when the value needs it
+        private void writeField(String value) throws IOException {
+            boolean quote = value.indexOf(',') >= 0 || value.indexOf('"') >= 0
+                    || value.indexOf('\n') >= 0 || value.indexOf('\r') >= 0;
+            if (!quote) {
+                writer.write(value);
+                return;
+            }
+            writer.write('"');
+            writer.write(value.replace("\"", "\"\""));
+            writer.write('"');
+        }
+    }
+
+    private final class NdjsonWriter implements RowWriter {
+        private final Writer writer;
+        private final JsonGenerator generator;
+        private final String[] names;
+
+        private NdjsonWriter(Writer writer, List<String> columns) throws IOException {
+            this.writer = writer;
+            this.generator = jsonFactory.createGenerator(writer);
+            this.generator.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+            // flush() below only empties the generator into our buffer, not the socket
+            this.generator.disable(JsonGenerator.Feature.FLUSH_PASSED_TO_STREAM);
+            this.names = columns.toArray(new String[0]);
+        }
+
+        @Override
+        public void write(ResultSet rs) throws IOException, SQLException {
+            generator.writeStartObject();
+            for (int i = 0; i < names.length; i++) {
+                Object value = rs.getObject(i + 1);
+                if (value == null) {
+                    generator.writeNullField(names[i]);
+                } else if (value instanceof Number) {
+                    generator.writeNumberField(names[i], ((Number) value).longValue());
+                } else {
+                    generator.writeStringField(names[i], text(value));
+                }
+            }
+            generator.writeEndObject();
+            generator.flush();
+            writer.write('\n');
+        }
+    }
+}
@@ -0,0 +1,104 @@
+package com.insurance.app.claim.service;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.insurance.app.claim.entity.ClaimEvent;
+import com.insurance.app.claim.repository.ClaimEventRepository;
+
+/**
+ * Drains the claim outbox to the in-process subscribers in batches, off the request path.
+ * Each batch is marked processed in its own transaction together with the subscribers' database
+ * writes, so a failed batch is retried as a whole on the next poll. In-memory subscribers see the
+ * batch only after that transaction has committed.
+ */
+@Component
+public class ClaimOutboxRelay {
+
+    private static final Logger logger = LoggerFactory.getLogger(ClaimOutboxRelay.class);
+
+    private final ClaimEventRepository claimEventRepository;
+    private final List<ClaimEventSubscriber> transactionalSubscribers = new ArrayList<>();
+    private final List<ClaimEventSubscriber> committedSubscribers = new ArrayList<>();
+    private final TransactionTemplate transactionTemplate;
+    private final int batchSize;
+    private final int maxBatchesPerRun;
+    private final long retentionHours;
+
+    public ClaimOutboxRelay(ClaimEventRepository claimEventRepository, List<ClaimEventSubscriber> subscribers,
+                            TransactionTemplate transactionTemplate,
+                            @Value("${claims.outbox.batch-size:200}") int batchSize,
+                            @Value("${claims.outbox.max-batches-per-run:20}") int maxBatchesPerRun,
+                            @Value("${claims.outbox.retention-hours:24}") long retentionHours) {
+        this.claimEventRepository = claimEventRepository;
+        for (ClaimEventSubscriber subscriber : subscribers) {
+            (subscriber.writesInTransaction() ? transactionalSubscribers : committedSubscribers).add(subscriber);
+        }
+        this.transactionTemplate = transactionTemplate;
+        this.batchSize = batchSize;
+        this.maxBatchesPerRun = maxBatchesPerRun;
+        this.retentionHours = retentionHours;
+    }
+
+    @Scheduled(fixedDelayString = "${claims.outbox.poll-ms:1000}")
+    public void relay() {
+        for (int run = 0; run < maxBatchesPerRun; run++) {
+            List<ClaimEvent> batch;
+            try {
+                batch = transactionTemplate.execute(status -> claimBatch());
+            } catch (RuntimeException e) {
+                // Rolled back, so the batch stays unprocessed and the next poll delivers it again
+                logger.error("Claim outbox batch failed; retrying on the next poll", e);
+                return;
+            }
+            if (batch == null || batch.isEmpty()) {
+                return;
+            }
+            for (ClaimEventSubscriber subscriber : committedSubscribers) {
+                try {
+                    subscriber.onClaimEvents(batch);
+                } catch (RuntimeException e) {
+                    // One subscriber failing must not hold back the others; in-memory views reconcile on their own
+                    logger.error("Claim event subscriber {} failed on events {}..{}", subscriber.getClass().getSimpleName(),
+                            batch.get(0).getEventId(), batch.get(batch.size() - 1).getEventId(), e);
+                }
+            }
+            if (batch.size() < batchSize) {
+                return;
+            }
+        }
+    }
+
+    // Database subscribers and the processed mark, committed together
+    private List<ClaimEvent> claimBatch() {
+        List<ClaimEvent> batch = claimEventRepository.findUnprocessed(PageRequest.of(0, batchSize));
+        if (batch.isEmpty()) {
+            return batch;
+        }
+        for (ClaimEventSubscriber subscriber : transactionalSubscribers) {
+            subscriber.onClaimEvents(batch);
+        }
+        List<Long> ids = new ArrayList<>(batch.size());
+        for (ClaimEvent event : batch) {
+            ids.add(event.getEventId());
+        }
+        claimEventRepository.markProcessed(ids, LocalDateTime.now());
+        return batch;
+    }
+
+    @Scheduled(fixedDelayString = "${claims.outbox.purge-ms:3600000}")
+    @Transactional
+    public void purge() {
+        claimEventRepository.deleteProcessedBefore(LocalDateTime.now().minusHours(retentionHours));
+    }
+}
@@ -0,0 +1,293 @@
+package com.insurance.app.claim.service;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.BiConsumer;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import com.insurance.app.claim.entity.ClaimEvent;
+import com.insurance.app.claim.entity.ClaimEventType;
+import com.insurance.app.claim.repository.ArchivedClaimRepository;
+import com.insurance.app.claim.repository.ClaimEventRepository;
+import com.insurance.app.claim.repository.ClaimRepository;
+import com.insurance.app.claim.repository.DocumentRepository;
+
+/**
+ * Fraud-signal score for claims, from feature aggregates kept in memory so scoring never
+ * rescans claim history:
+ *   - per user: claims raised and when the last one was raised
+ *   - per purchase: how many times a claim was raised against it (withdraw and re-raise)
+ *   - per document hash: the first claim it was seen on
+ * The aggregates are rebuilt at startup in parallel id-range partitions. Withdrawn claims no longer
+ * have a row, so their raises come back from the WITHDRAWN outbox events, which are never purged.
+ * After that, raises are
+ * counted by ClaimService as soon as they commit, so back-to-back claims see each other, and
+ * withdrawals follow the claim outbox. Live updates that arrive before the rebuild finishes are
+ * held back and then applied only where the snapshot did not already count them.
+ */
+@Component
+public class ClaimRiskScorer implements ClaimEventSubscriber {
+
+    private static final Logger logger = LoggerFactory.getLogger(ClaimRiskScorer.class);
+
+    private static final double MAX_SCORE = 100;
+    private static final double EARLY_CLAIM_WEIGHT = 40;
+    private static final double PER_PRIOR_CLAIM_WEIGHT = 10;
+    private static final double PRIOR_CLAIMS_CAP = 30;
+    private static final double REPEAT_CLAIM_WEIGHT = 15;
+    private static final long REPEAT_CLAIM_DAYS = 30;
+    private static final double RERAISE_WEIGHT = 20;
+    private static final double DUPLICATE_DOCUMENT_WEIGHT = 30;
+
+    private final ClaimRepository claimRepository;
+    private final ArchivedClaimRepository archivedClaimRepository;
+    private final ClaimEventRepository claimEventRepository;
+    private final DocumentRepository documentRepository;
+    private final long earlyClaimDays;
+    private final int partitions;
+
+    private final Map<Long, UserFeatures> users = new ConcurrentHashMap<>();
+    private final Map<Long, AtomicInteger> purchaseRaises = new ConcurrentHashMap<>();
+    private final Map<String, Long> documentHashes = new ConcurrentHashMap<>();
+    // "claimId:hash" pairs already scored as duplicates, so re-storing the same file scores nothing more
+    private final Set<String> scoredDuplicates = ConcurrentHashMap.newKeySet();
+
+    // Guarded by itself; rebuilt flips once, when the startup snapshot is in place
+    private final List<Runnable> deferred = new ArrayList<>();
+    private boolean rebuilt;
+    private volatile long snapshotMaxClaimId;
+    private volatile LocalDateTime snapshotStartedAt = LocalDateTime.MIN;
+
+    public ClaimRiskScorer(ClaimRepository claimRepository, ArchivedClaimRepository archivedClaimRepository,
+                           ClaimEventRepository claimEventRepository, DocumentRepository documentRepository,
+                           @Value("${claims.risk.early-claim-days:30}") long earlyClaimDays,
+                           @Value("${claims.risk.rebuild-partitions:4}") int partitions) {
+        this.claimRepository = claimRepository;
+        this.archivedClaimRepository = archivedClaimRepository;
+        this.claimEventRepository = claimEventRepository;
+        this.documentRepository = documentRepository;
+        this.earlyClaimDays = earlyClaimDays;
+        this.partitions = Math.max(partitions, 1);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuild() {
+        ExecutorService pool = Executors.newFixedThreadPool(partitions, r -> {
+            Thread t = new Thread(r, "claim-risk-rebuild");
+            t.setDaemon(true);
+            return t;
+        });
+        try {
+            snapshotStartedAt = LocalDateTime.now();
+            // Read before the claim rows, so a claim withdrawn meanwhile is counted by its row, not twice
+            for (Object[] row : claimEventRepository.countWithdrawnByPurchaseBefore(snapshotStartedAt)) {
+                purchaseRaises.computeIfAbsent((Long) row[0], k -> new AtomicInteger()).addAndGet(((Long) row[1]).intValue());
+            }
+            Long hotMax = claimRepository.findMaxClaimId();
+            Long archivedMax = archivedClaimRepository.findMaxClaimId();
+            // Claims above this id were raised after the snapshot and are counted by claimRaised instead
+            snapshotMaxClaimId = Math.max(hotMax == null ? 0 : hotMax, archivedMax == null ? 0 : archivedMax);
+            List<Future<?>> tasks = new ArrayList<>();
+            Queue<Object[]> documentRows = new ConcurrentLinkedQueue<>();
+            submitPartitions(pool, tasks, claimRepository.findMinClaimId(), hotMax,
+                    (from, to) -> loadRaised(claimRepository.findRiskRowsBetween(from, to)));
+            submitPartitions(pool, tasks, archivedClaimRepository.findMinClaimId(), archivedMax,
+                    (from, to) -> loadRaised(archivedClaimRepository.findRiskRowsBetween(from, to)));
+            submitPartitions(pool, tasks, documentRepository.findMinDocumentId(), documentRepository.findMaxDocumentId(),
+                    (from, to) -> {
+                        for (Object[] row : documentRepository.findHashesBetween(from, to)) {
+                            documentHashes.merge((String) row[0], (Long) row[1], Math::min);
+                            documentRows.add(row);
+                        }
+                    });
+            for (Future<?> task : tasks) {
+                task.get();
+            }
+            // Only now is the first claim per hash known; every other claim with it was scored already
+            for (Object[] row : documentRows) {
+                if (!row[1].equals(documentHashes.get((String) row[0]))) {
+                    scoredDuplicates.add(row[1] + ":" + row[0]);
+                }
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (ExecutionException e) {
+            logger.error("Claim risk feature rebuild failed; scores start from partial history", e.getCause());
+        } finally {
+            pool.shutdown();
+            List<Runnable> held;
+            synchronized (deferred) {
+                rebuilt = true;
+                held = new ArrayList<>(deferred);
+                deferred.clear();
+            }
+            held.forEach(Runnable::run);
+        }
+    }
+
+    /**
+     * A claim has been raised and committed. Called by ClaimService right after the commit,
+     * so the next claim from the same user or purchase is scored with this one counted.
+     */
+    public void claimRaised(Long claimId, Long userId, Long purchaseId, LocalDateTime raisedAt) {
+        whenRebuilt(() -> {
+            if (claimId > snapshotMaxClaimId) {
+                raised(userId, purchaseId, raisedAt);
+            }
+        });
+    }
+
+    /**
+     * Score for a claim about to be raised, from the aggregates as they stand before it.
+     */
+    public double score(Long userId, Long purchaseId, LocalDate purchaseDate, LocalDateTime raisedAt) {
+        double score = 0;
+
+        // Claims raised soon after the policy was bought
+        if (purchaseDate != null) {
+            long days = Math.max(ChronoUnit.DAYS.between(purchaseDate, raisedAt.toLocalDate()), 0);
+            if (days < earlyClaimDays) {
+                score += EARLY_CLAIM_WEIGHT * (earlyClaimDays - days) / earlyClaimDays;
+            }
+        }
+
+        // Many claims from one user, and claims in quick succession
+        UserFeatures user = users.get(userId);
+        if (user != null) {
+            score += Math.min(PRIOR_CLAIMS_CAP, PER_PRIOR_CLAIM_WEIGHT * user.claims());
+            LocalDateTime last = user.lastRaisedAt();
+            if (last != null && ChronoUnit.DAYS.between(last, raisedAt) < REPEAT_CLAIM_DAYS) {
+                score += REPEAT_CLAIM_WEIGHT;
+            }
+        }
+
+        // The same purchase claimed again after a withdrawal
+        AtomicInteger raises = purchaseRaises.get(purchaseId);
+        if (raises != null) {
+            score += RERAISE_WEIGHT * raises.get();
+        }
+        return Math.min(MAX_SCORE, Math.round(score * 10) / 10.0);
+    }
+
+    /**
+     * A document was stored for a claim. When the same content was already seen on another
+     * claim, that claim's score goes up, once per claim and content.
+     */
+    public void documentStored(Long claimId, String contentHash) {
+        if (contentHash == null) {
+            return;
+        }
+        Long first = documentHashes.putIfAbsent(contentHash, claimId);
+        if (first != null && !first.equals(claimId) && scoredDuplicates.add(claimId + ":" + contentHash)) {
+            claimRepository.addRiskScore(claimId, DUPLICATE_DOCUMENT_WEIGHT);
+        }
+    }
+
+    // Raises are counted by claimRaised; the outbox only brings withdrawals
+    @Override
+    public void onClaimEvents(List<ClaimEvent> events) {
+        for (ClaimEvent event : events) {
+            if (event.getEventType() == ClaimEventType.WITHDRAWN) {
+                whenRebuilt(() -> {
+                    // A claim withdrawn before the snapshot was read is already missing from it
+                    if (event.getCreatedAt() == null || !event.getCreatedAt().isBefore(snapshotStartedAt)) {
+                        // The raise still counts for the purchase; only the user's open claim count drops
+                        UserFeatures user = users.get(event.getUserId());
+                        if (user != null) {
+                            user.withdrawn();
+                        }
+                    }
+                });
+            }
+        }
+    }
+
+    private void whenRebuilt(Runnable update) {
+        synchronized (deferred) {
+            if (!rebuilt) {
+                deferred.add(update);
+                return;
+            }
+        }
+        update.run();
+    }
+
+    public Map<String, Long> getStats() {
+        Map<String, Long> stats = new LinkedHashMap<>();
+        stats.put("users", (long) users.size());
+        stats.put("purchases", (long) purchaseRaises.size());
+        stats.put("documentHashes", (long) documentHashes.size());
+        return stats;
+    }
+
+    // Rows of userId, purchaseId, uploadedAt
+    private void loadRaised(List<Object[]> rows) {
+        for (Object[] row : rows) {
+            raised((Long) row[0], (Long) row[1], (LocalDateTime) row[2]);
+        }
+    }
+
+    private void raised(Long userId, Long purchaseId, LocalDateTime at) {
+        users.computeIfAbsent(userId, k -> new UserFeatures()).raised(at);
+        if (purchaseId != null) {
+            purchaseRaises.computeIfAbsent(purchaseId, k -> new AtomicInteger()).incrementAndGet();
+        }
+    }
+
+    private void submitPartitions(ExecutorService pool, List<Future<?>> tasks, Long min, Long max,
+                                  BiConsumer<Long, Long> load) {
+        if (min == null || max == null) {
+            return;
+        }
+        long span = (max - min) / partitions + 1;
+        for (long from = min; from <= max; from += span) {
+            long lo = from;
+            long hi = Math.min(from + span - 1, max);
+            tasks.add(pool.submit(() -> load.accept(lo, hi)));
+        }
+    }
+
+    private static final class UserFeatures {
+        private int claims;
+        private LocalDateTime lastRaisedAt;
+
+        synchronized void raised(LocalDateTime at) {
+            claims++;
+            if (at != null && (lastRaisedAt == null || at.isAfter(lastRaisedAt))) {
+                lastRaisedAt = at;
+            }
+        }
+
+        synchronized void withdrawn() {
+            claims = Math.max(claims - 1, 0);
+        }
+
+        synchronized int claims() {
+            return claims;
+        }
+
+        synchronized LocalDateTime lastRaisedAt() {
+            return lastRaisedAt;
+        }
+    }
+}
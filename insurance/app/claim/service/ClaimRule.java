@@ -0,0 +1,23 @@
+package com.insurance.app.claim.service;
+
+import com.insurance.app.claim.dto.ClaimFactsDTO;
+
+/**
+ * One auto-adjudication rule. Rules are tried in order and the first match decides;
+ * a claim no rule matches stays PENDING for an adjuster.
+ * Any bean implementing this is picked up alongside the configured rules.
+ */
+public interface ClaimRule {
+
+    enum Decision {
+        APPROVE,
+        REJECT,
+        MANUAL
+    }
+
+    String getName();
+
+    Decision getDecision();
+
+    boolean matches(ClaimFactsDTO facts);
+}
@@ -1,74 +1,123 @@
 package com.insurance.app.claim.service;
 
+import com.insurance.app.claim.dto.ClaimBulkResultDTO;
 import com.insurance.app.claim.dto.ClaimDTO;
+import com.insurance.app.claim.dto.ClaimEligibilityDTO;
+import com.insurance.app.claim.dto.ClaimPageResponse;
+import com.insurance.app.claim.dto.ClaimResponseDTO;
+import com.insurance.app.claim.dto.ClaimStatusChangeDTO;
+import com.insurance.app.claim.dto.ClaimStatusRowDTO;
+import com.insurance.app.claim.dto.ClaimTriageDTO;
 import com.insurance.app.claim.entity.Claim;
+import com.insurance.app.claim.entity.ClaimEvent;
+import com.insurance.app.claim.entity.ClaimEventType;
+import com.insurance.app.claim.entity.ClaimStatus;
+import com.insurance.app.claim.exception.ClaimConflictException;
 import com.insurance.app.claim.exception.ClaimNotFoundException;
+import com.insurance.app.claim.repository.ClaimEventRepository;
 import com.insurance.app.claim.repository.ClaimRepository;
-import com.insurance.app.auth.entity.Users;
 import com.insurance.app.auth.repository.UserRepository;
 import com.insurance.app.catalog.exception.ResourceNotFoundException;
 import com.insurance.app.purchase.entity.PolicyPurchase;
 import com.insurance.app.purchase.repository.PolicyPurchaseRepository;
 import lombok.RequiredArgsConstructor;
 import org.springframework.context.MessageSource;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
 import java.time.LocalDateTime;
+import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
 
 @Service
 @RequiredArgsConstructor
 public class ClaimService {
 
+    private static final int MAX_FEED_PAGE_SIZE = 200;
+    private static final int BULK_CHUNK_SIZE = 500;
+
     private final ClaimRepository claimRepository;
     private final UserRepository userRepository;
     private final PolicyPurchaseRepository purchaseRepository;
     private final MessageSource messageSource;
+    private final ClaimEventRepository claimEventRepository;
+    private final ClaimCounters claimCounters;
+    private final ClaimTriageQueue claimTriageQueue;
+    private final ClaimEventStream claimEventStream;
+    private final ClaimRiskScorer claimRiskScorer;
+    private final ClaimArchiveService claimArchiveService;
 
     /**
      * Create a new claim
      */
+    @Transactional
     public Claim raiseClaim(ClaimDTO claimDTO) {
-        // Validate user exists
-        Users user = userRepository.findById(claimDTO.getUserId())
-                .orElseThrow(() -> new ResourceNotFoundException(
-                        messageSource.getMessage("user.notfound", new Object[]{claimDTO.getUserId()}, Locale.getDefault())
-                ));
-
-        // Validate purchase exists
-        PolicyPurchase purchase = purchaseRepository.findById(claimDTO.getPurchaseId())
+        // Purchase owner, status and existing claim in a single query
+        ClaimEligibilityDTO eligibility = claimRepository.findClaimEligibility(claimDTO.getPurchaseId())
                 .orElseThrow(() -> new ResourceNotFoundException(
                         messageSource.getMessage("purchase.notfound", new Object[]{claimDTO.getPurchaseId()}, Locale.getDefault())
                 ));
 
-        // Validate that the purchase belongs to the user
-        if (!purchase.getUser().getId().equals(claimDTO.getUserId())) {
+        // Validate that the purchase belongs to the user (this also proves the user exists)
+        if (!claimDTO.getUserId().equals(eligibility.getOwnerId())) {
             throw new RuntimeException(messageSource.getMessage("claim.purchase.user.mismatch", null, Locale.getDefault()));
         }
 
         // Validate that the policy is active
-        if (!"CONFIRMED".equals(purchase.getStatus()) && !"ACTIVE".equals(purchase.getStatus())) {
+        if (!"CONFIRMED".equals(eligibility.getPurchaseStatus()) && !"ACTIVE".equals(eligibility.getPurchaseStatus())) {
             throw new RuntimeException(
-                    messageSource.getMessage("claim.policy.notactive", new Object[]{purchase.getStatus()}, Locale.getDefault())
+                    messageSource.getMessage("claim.policy.notactive", new Object[]{eligibility.getPurchaseStatus()}, Locale.getDefault())
             );
         }
 
-        // Check if a claim already exists for this purchase
-        if (claimRepository.existsByPurchase_PurchaseId(claimDTO.getPurchaseId())) {
+        // Fast path for the common duplicate; the unique key on purchase_id settles races
+        if (eligibility.getExistingClaims() > 0) {
             throw new RuntimeException(messageSource.getMessage("claim.already.exists", null, Locale.getDefault()));
         }
 
-        // Create new claim
+        // Create new claim, referencing user and purchase without loading them
+        LocalDateTime now = LocalDateTime.now();
         Claim claim = Claim.builder()
                 .claimStatus("PENDING") // Always start with PENDING status
-                .user(user)
-                .purchase(purchase)
-                .uploadedAt(LocalDateTime.now())
+                .user(userRepository.getReferenceById(claimDTO.getUserId()))
+                .purchase(purchaseRepository.getReferenceById(claimDTO.getPurchaseId()))
+                .uploadedAt(now)
+                .riskScore(claimRiskScorer.score(claimDTO.getUserId(), claimDTO.getPurchaseId(),
+                        eligibility.getPurchaseDate(), now))
                 .build();
 
-        return claimRepository.save(claim);
+        try {
+            Claim saved = claimRepository.saveAndFlush(claim);
+            claimEventRepository.save(ClaimEvent.builder()
+                    .claimId(saved.getClaimId())
+                    .userId(claimDTO.getUserId())
+                    .purchaseId(claimDTO.getPurchaseId())
+                    .eventType(ClaimEventType.RAISED)
+                    .toStatus(saved.getClaimStatus())
+                    .build());
+            // Counted for the user's next claim as soon as this one commits, not when the relay gets to it
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    claimRiskScorer.claimRaised(saved.getClaimId(), claimDTO.getUserId(), claimDTO.getPurchaseId(), now);
+                }
+            });
+            return saved;
+        } catch (DataIntegrityViolationException e) {
+            throw new RuntimeException(messageSource.getMessage("claim.already.exists", null, Locale.getDefault()));
+        }
     }
 
     /**
@@ -79,7 +128,41 @@ public class ClaimService {
     }
 
     /**
-     * Get claims by user ID
+     * One page of the admin claims feed, newest first.
+     * The cursor is "uploadedAt_claimId" of the last row of the previous page.
+     */
+    public ClaimPageResponse getClaimsFeed(String status, Long userId, LocalDateTime from, LocalDateTime to,
+                                           String cursor, int size) {
+        if (status != null && !isValidStatus(status)) {
+            throw new IllegalArgumentException(
+                    messageSource.getMessage("claim.status.invalid", new Object[]{status}, Locale.getDefault())
+            );
+        }
+        LocalDateTime cursorAt = null;
+        Long cursorId = null;
+        if (cursor != null && !cursor.isEmpty()) {
+            int separator = cursor.lastIndexOf('_');
+            if (separator <= 0) {
+                throw new IllegalArgumentException("Invalid cursor: " + cursor);
+            }
+            cursorAt = LocalDateTime.parse(cursor.substring(0, separator));
+            cursorId = Long.valueOf(cursor.substring(separator + 1));
+        }
+
+        int limit = Math.min(Math.max(size, 1), MAX_FEED_PAGE_SIZE);
+        List<ClaimResponseDTO> claims = claimRepository.findFeedPage(
+                status, userId, from, to, cursorAt, cursorId, PageRequest.of(0, limit));
+
+        String nextCursor = null;
+        if (claims.size() == limit) {
+            ClaimResponseDTO last = claims.get(claims.size() - 1);
+            nextCursor = last.getUploadedAt() + "_" + last.getClaimId();
+        }
+        return new ClaimPageResponse(claims, nextCursor);
+    }
+
+    /**
+     * Get claims by user ID, archived ones included
      */
     public List<Claim> getClaimsByUser(Long userId) {
         if (!userRepository.existsById(userId)) {
@@ -87,14 +170,21 @@ public class ClaimService {
                     messageSource.getMessage("user.notfound", new Object[]{userId}, Locale.getDefault())
             );
         }
-        return claimRepository.findByUser_Id(userId);
+        List<Claim> archived = claimArchiveService.findArchivedClaimsByUser(userId);
+        if (archived.isEmpty()) {
+            return claimRepository.findByUser_Id(userId);
+        }
+        List<Claim> claims = new ArrayList<>(claimRepository.findByUser_Id(userId));
+        claims.addAll(archived);
+        return claims;
     }
 
     /**
-     * Get claim by ID
+     * Get claim by ID, reading through to the archive for old closed claims
      */
     public Claim getClaimById(Long id) {
-        return claimRepository.findById(id)
+        return claimRepository.findDetailedByClaimId(id)
+                .or(() -> claimArchiveService.findArchivedClaim(id))
                 .orElseThrow(() -> new ClaimNotFoundException(
                         messageSource.getMessage("claim.notfound", new Object[]{id}, Locale.getDefault())
                 ));
@@ -103,40 +193,195 @@ public class ClaimService {
     /**
      * Update claim status (for admin)
      */
+    @Transactional
     public Claim updateClaimStatus(Long id, String status) {
-        Claim claim = getClaimById(id);
-
         // Validate status
-        if (!isValidStatus(status)) {
+        ClaimStatus target = ClaimStatus.fromString(status);
+        if (target == null) {
             throw new IllegalArgumentException(
                     messageSource.getMessage("claim.status.invalid", new Object[]{status}, Locale.getDefault())
             );
         }
 
+        transition(id, target);
+        return getClaimById(id);
+    }
+
+    /**
+     * Bulk adjudication (for admin): one set-based UPDATE and one outbox INSERT per target status
+     * and chunk, with the same transition rules as updateClaimStatus.
+     */
+    @Transactional
+    public List<ClaimBulkResultDTO> bulkUpdateClaimStatus(List<ClaimStatusChangeDTO> changes) {
+        List<ClaimBulkResultDTO> results = new ArrayList<>(changes.size());
+        Map<ClaimStatus, Set<Long>> byTarget = new EnumMap<>(ClaimStatus.class);
+        for (ClaimStatusChangeDTO change : changes) {
+            ClaimStatus target = ClaimStatus.fromString(change.getStatus());
+            if (target == null) {
+                results.add(new ClaimBulkResultDTO(change.getClaimId(), "INVALID_STATUS"));
+            } else if (!byTarget.computeIfAbsent(target, t -> new LinkedHashSet<>()).add(change.getClaimId())) {
+                // A repeated id would otherwise be counted and evented twice by the batch update
+                results.add(new ClaimBulkResultDTO(change.getClaimId(), "DUPLICATE"));
+            }
+        }
+
+        for (Map.Entry<ClaimStatus, Set<Long>> entry : byTarget.entrySet()) {
+            ClaimStatus target = entry.getKey();
+            List<Long> ids = new ArrayList<>(entry.getValue());
+            for (int from = 0; from < ids.size(); from += BULK_CHUNK_SIZE) {
+                List<Long> chunk = ids.subList(from, Math.min(from + BULK_CHUNK_SIZE, ids.size()));
+                applyBulkTransition(target, chunk, results);
+            }
+        }
+        return results;
+    }
+
+    private void applyBulkTransition(ClaimStatus target, List<Long> ids,
+                                                        List<ClaimBulkResultDTO> results) {
+        Map<Long, ClaimStatusRowDTO> rows = new HashMap<>();
+        for (ClaimStatusRowDTO row : claimRepository.findStatusRows(ids)) {
+            rows.put(row.getClaimId(), row);
+        }
+
+        List<Long> eligible = new ArrayList<>();
+        for (Long id : ids) {
+            ClaimStatusRowDTO row = rows.get(id);
+            ClaimStatus current = row != null ? ClaimStatus.fromString(row.getClaimStatus()) : null;
+            if (row == null) {
+                results.add(new ClaimBulkResultDTO(id, "NOT_FOUND"));
+            } else if (current != null && current.canTransitionTo(target)) {
+                eligible.add(id);
+            } else {
+                results.add(new ClaimBulkResultDTO(id, current != null && current.isFinal() ? "FINAL_STATE" : "CONFLICT"));
+            }
+        }
+        if (eligible.isEmpty()) {
+            return;
+        }
+
+        int updated = claimRepository.transitionStatusBulk(eligible, target.allowedFromNames(), target.name(),
+                target.isFinal() ? LocalDateTime.now() : null);
+        List<ClaimStatusRowDTO> moved = new ArrayList<>(eligible.size());
+        if (updated == eligible.size()) {
+            for (Long id : eligible) {
+                moved.add(rows.get(id));
+            }
+        } else {
+            // Some claims changed between the read and the update; re-read to see which
+            Map<Long, String> now = new HashMap<>();
+            for (ClaimStatusRowDTO row : claimRepository.findStatusRows(eligible)) {
+                now.put(row.getClaimId(), row.getClaimStatus());
+            }
+            for (Long id : eligible) {
+                if (target.name().equals(now.get(id))) {
+                    moved.add(rows.get(id));
+                } else {
+                    results.add(new ClaimBulkResultDTO(id, "CONFLICT"));
+                }
+            }
+        }
+        Map<String, List<Long>> movedFrom = new HashMap<>();
+        for (ClaimStatusRowDTO row : moved) {
+            results.add(new ClaimBulkResultDTO(row.getClaimId(), "UPDATED"));
+            movedFrom.computeIfAbsent(row.getClaimStatus(), k -> new ArrayList<>()).add(row.getClaimId());
+        }
+        String type = ClaimEventType.forTransitionTo(target).name();
+        movedFrom.forEach((from, claimIds) -> claimEventRepository.recordForClaims(claimIds, type, from, target.name()));
+    }
+
+    /**
+     * Status change decided by the auto-adjudication rules, under the same transition rules
+     */
+    @Transactional
+    public void applyAutomaticDecision(Long id, ClaimStatus target) {
+        transition(id, target);
+    }
+
+    /**
+     * Applies a status change with a single conditional UPDATE.
+     * Only when no row changed is the current status read, to report why.
+     */
+    private void transition(Long id, ClaimStatus target) {
+        LocalDateTime decidedAt = target.isFinal() ? LocalDateTime.now() : null;
+        if (claimRepository.transitionStatus(id, target.allowedFromNames(), target.name(), decidedAt) == 1) {
+            // Every target has a single source state, so the previous status is known without a read
+            Set<ClaimStatus> from = target.allowedFrom();
+            claimEventRepository.recordForClaims(List.of(id), ClaimEventType.forTransitionTo(target).name(),
+                    from.size() == 1 ? from.iterator().next().name() : null, target.name());
+            return;
+        }
+
+        // Archived claims are all APPROVED or REJECTED, so they report as final
+        ClaimStatus current = claimRepository.findStatusById(id)
+                .or(() -> claimArchiveService.findArchivedStatus(id))
+                .map(ClaimStatus::fromString)
+                .orElseThrow(() -> new ClaimNotFoundException(
+                        messageSource.getMessage("claim.notfound", new Object[]{id}, Locale.getDefault())
+                ));
+
         // Check if claim is already in final state
-        if ("APPROVED".equals(claim.getClaimStatus()) || "REJECTED".equals(claim.getClaimStatus())) {
-            throw new RuntimeException(
-                    messageSource.getMessage("claim.status.final", new Object[]{claim.getClaimStatus()}, Locale.getDefault())
+        if (current != null && current.isFinal()) {
+            throw new ClaimConflictException(
+                    messageSource.getMessage("claim.status.final", new Object[]{current}, Locale.getDefault())
             );
         }
-
-        claim.setClaimStatus(status);
-        return claimRepository.save(claim);
+        // Someone else moved the claim between our read and write
+        throw new ClaimConflictException(
+                "Claim " + id + " is " + current + " and cannot move to " + target);
     }
 
     /**
      * Delete claim (withdraw by customer)
      */
+    @Transactional
     public void deleteClaim(Long id) {
         Claim claim = getClaimById(id);
 
-        if (!"PENDING".equals(claim.getClaimStatus())) {
-            throw new RuntimeException(
-                    messageSource.getMessage("claim.delete.notpending", new Object[]{claim.getClaimStatus()}, Locale.getDefault())
+        Long userId = claim.getUser().getId();
+        Long purchaseId = claim.getPurchase().getPurchaseId();
+
+        // Conditional delete: an adjuster deciding the claim meanwhile leaves no row to remove
+        if (!ClaimStatus.PENDING.name().equals(claim.getClaimStatus()) || claimRepository.deletePendingById(id) != 1) {
+            String current = claimRepository.findStatusById(id).orElse(claim.getClaimStatus());
+            throw new ClaimConflictException(
+                    messageSource.getMessage("claim.delete.notpending", new Object[]{current}, Locale.getDefault())
             );
         }
 
-        claimRepository.delete(claim);
+        claimEventRepository.save(ClaimEvent.builder()
+                .claimId(id)
+                .userId(userId)
+                .purchaseId(purchaseId)
+                .eventType(ClaimEventType.WITHDRAWN)
+                .fromStatus(ClaimStatus.PENDING.name())
+                .build());
+    }
+
+    /**
+     * Lease the next pending claims by triage priority to the calling admin
+     */
+    public List<ClaimTriageDTO> pullTriageClaims(String adjuster, int count) {
+        return claimTriageQueue.pull(adjuster, count);
+    }
+
+    /**
+     * Hand a leased claim back to the triage queue
+     */
+    public void releaseTriageClaim(Long id, String adjuster) {
+        if (!claimTriageQueue.release(id, adjuster)) {
+            throw new ClaimConflictException("Claim " + id + " is not leased by " + adjuster);
+        }
+    }
+
+    /**
+     * Top of the triage queue without leasing (for admin dashboards)
+     */
+    public List<ClaimTriageDTO> peekTriageClaims(int count) {
+        return claimTriageQueue.peek(count);
+    }
+
+    public Map<String, Long> getTriageStats() {
+        return claimTriageQueue.getStats();
     }
 
     /**
@@ -151,28 +396,66 @@ public class ClaimService {
         return claimRepository.findByClaimStatus(status);
     }
 
+    /**
+     * Open a server-sent event subscription for the signed-in customer
+     */
+    public SseEmitter subscribeToClaimEvents(String email) {
+        Long userId = userRepository.findIdByEmail(email)
+                .orElseThrow(() -> new ResourceNotFoundException(
+                        messageSource.getMessage("user.notfound", new Object[]{email}, Locale.getDefault())
+                ));
+        return claimEventStream.subscribe(userId);
+    }
+
+    public Map<String, Long> getClaimStreamStats() {
+        return claimEventStream.getStats();
+    }
+
+    public Map<String, Long> getRiskFeatureStats() {
+        return claimRiskScorer.getStats();
+    }
+
+    public Map<String, Long> getArchiveStats() {
+        return claimArchiveService.getStats();
+    }
+
     /**
      * Get pending claims count
      */
     public long getPendingClaimsCount() {
-        return claimRepository.countByClaimStatus("PENDING");
+        if (!claimCounters.isLoaded()) {
+            return claimRepository.countByClaimStatus("PENDING");
+        }
+        return claimCounters.countByStatus(ClaimStatus.PENDING);
+    }
+
+    /**
+     * Claim counts by status (for admin dashboards)
+     */
+    public Map<String, Long> getClaimCounts() {
+        return claimCounters.snapshot();
     }
 
     /**
      * Get claims count by user
      */
     public long getClaimsCountByUser(Long userId) {
+        if (claimCounters.isLoaded()) {
+            long count = claimCounters.countByUser(userId);
+            if (count > 0) {
+                return count; // a user with claims exists, no lookup needed
+            }
+        }
         if (!userRepository.existsById(userId)) {
             throw new ResourceNotFoundException(
                     messageSource.getMessage("user.notfound", new Object[]{userId}, Locale.getDefault())
             );
         }
-        return claimRepository.countByUser_Id(userId);
+        return claimCounters.isLoaded() ? 0 : claimRepository.countByUser_Id(userId);
     }
 
     private boolean isValidStatus(String status) {
-        return status != null &&
-                (status.equals("PENDING") || status.equals("APPROVED") || status.equals("REJECTED"));
+        return ClaimStatus.isValid(status);
     }
 
     /**
@@ -202,20 +485,23 @@ public class ClaimService {
     /**
      * Update claim (only pending)
      */
+    @Transactional
     public Claim updateClaim(Long id, ClaimDTO claimDTO) {
-        Claim existingClaim = getClaimById(id);
+        ClaimStatus target = ClaimStatus.fromString(claimDTO.getClaimStatus());
 
-        if (!"PENDING".equals(existingClaim.getClaimStatus())) {
+        if (target != null) {
+            // PENDING is the only source state for every target, so this also enforces "only pending"
+            transition(id, target);
+            return getClaimById(id);
+        }
+
+        Claim existingClaim = getClaimById(id);
+        if (!ClaimStatus.PENDING.name().equals(existingClaim.getClaimStatus())) {
             throw new RuntimeException(
                     messageSource.getMessage("claim.update.notpending", new Object[]{existingClaim.getClaimStatus()}, Locale.getDefault())
             );
         }
-
-        if (claimDTO.getClaimStatus() != null && isValidStatus(claimDTO.getClaimStatus())) {
-            existingClaim.setClaimStatus(claimDTO.getClaimStatus());
-        }
-
-        return claimRepository.save(existingClaim);
+        return existingClaim;
     }
 
     public List<PolicyPurchase> getActivePurchasesForClaims(Long userId) {
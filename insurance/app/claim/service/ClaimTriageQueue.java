@@ -0,0 +1,358 @@
+package com.insurance.app.claim.service;
+
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.PriorityQueue;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import com.insurance.app.claim.dto.ClaimTriageDTO;
+import com.insurance.app.claim.entity.ClaimEvent;
+import com.insurance.app.claim.repository.ClaimRepository;
+
+/**
+ * Pending claims ordered by triage priority, for adjusters to pull work from.
+ *
+ * priority = ageWeight * hours waiting + typeWeight[policy type] + sumWeight * log10(sum insured)
+ *
+ * The age term grows at the same rate for every claim, so the ordering only depends on
+ * typeWeight + sumWeight * log10(sum) - ageWeight * hours since epoch at upload. That key is
+ * fixed per claim, which lets an indexed binary heap keep the order with O(log n) updates.
+ * Pulled claims leave the heap for the lease duration, so no two adjusters get the same claim.
+ */
+@Component
+public class ClaimTriageQueue implements ClaimEventSubscriber {
+
+    private static final int LOAD_CHUNK_SIZE = 500;
+    private static final int MAX_PULL = 50;
+
+    private final ClaimRepository claimRepository;
+    private final double ageWeight;
+    private final double sumWeight;
+    private final Map<String, Double> typeWeights;
+    private final long leaseMinutes;
+
+    // Max-heap on key, with each claim's slot tracked so removal and reinsertion are O(log n)
+    private final List<Entry> heap = new ArrayList<>();
+    private final Map<Long, Integer> slots = new HashMap<>();
+    private final Map<Long, Lease> leases = new HashMap<>();
+    // Relay events that arrive while rebuild() reads its snapshot; non-null only during a rebuild
+    private List<ClaimEvent> deferred;
+
+    public ClaimTriageQueue(ClaimRepository claimRepository,
+                            @Value("${claims.triage.age-weight-per-hour:1.0}") double ageWeight,
+                            @Value("${claims.triage.sum-weight:10.0}") double sumWeight,
+                            @Value("${claims.triage.type-weights:HEALTH=48,LIFE=72,CAR=24,BIKE=12}") String typeWeights,
+                            @Value("${claims.triage.lease-minutes:30}") long leaseMinutes) {
+        this.claimRepository = claimRepository;
+        this.ageWeight = ageWeight;
+        this.sumWeight = sumWeight;
+        this.typeWeights = parseWeights(typeWeights);
+        this.leaseMinutes = leaseMinutes;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuild() {
+        synchronized (this) {
+            deferred = new ArrayList<>();
+        }
+        List<ClaimEvent> missed;
+        try {
+            List<ClaimTriageDTO> pending = new ArrayList<>();
+            Long after = 0L;
+            List<ClaimTriageDTO> page;
+            do {
+                page = claimRepository.findPendingTriageAfter(after, PageRequest.of(0, LOAD_CHUNK_SIZE));
+                pending.addAll(page);
+                if (!page.isEmpty()) {
+                    after = page.get(page.size() - 1).getClaimId();
+                }
+            } while (page.size() == LOAD_CHUNK_SIZE);
+
+            synchronized (this) {
+                heap.clear();
+                slots.clear();
+                for (ClaimTriageDTO claim : pending) {
+                    if (!leases.containsKey(claim.getClaimId())) {
+                        offer(claim);
+                    }
+                }
+            }
+        } finally {
+            synchronized (this) {
+                missed = deferred;
+                deferred = null;
+            }
+            // Replayed on top of the snapshot; raises re-check PENDING, so stale ones stay out
+            apply(missed);
+        }
+    }
+
+    // Kept current from the claim outbox: raised claims join, closed ones leave
+    @Override
+    public void onClaimEvents(List<ClaimEvent> events) {
+        synchronized (this) {
+            if (deferred != null) {
+                deferred.addAll(events);
+                return;
+            }
+        }
+        apply(events);
+    }
+
+    private void apply(List<ClaimEvent> events) {
+        for (ClaimEvent event : events) {
+            switch (event.getEventType()) {
+                case RAISED:
+                    claimRaised(event.getClaimId());
+                    break;
+                case APPROVED:
+                case REJECTED:
+                case WITHDRAWN:
+                    claimClosed(event.getClaimId());
+                    break;
+                default:
+                    break;
+            }
+        }
+    }
+
+    // A newly raised claim; loads its policy type and sum insured in one query
+    private void claimRaised(Long claimId) {
+        claimRepository.findPendingTriageById(claimId).ifPresent(claim -> {
+            synchronized (this) {
+                if (!slots.containsKey(claimId) && !leases.containsKey(claimId)) {
+                    offer(claim);
+                }
+            }
+        });
+    }
+
+    // Adjudicated or withdrawn: the claim leaves the queue and any lease on it ends
+    public synchronized void claimClosed(Long claimId) {
+        leases.remove(claimId);
+        Integer slot = slots.get(claimId);
+        if (slot != null) {
+            removeAt(slot);
+        }
+    }
+
+    /**
+     * Leases the next claims to an adjuster. Claims the adjuster already holds are renewed
+     * and returned first, so a retried request does not hand out extra work.
+     */
+    public synchronized List<ClaimTriageDTO> pull(String adjuster, int count) {
+        expireLeases();
+        int limit = Math.min(Math.max(count, 1), MAX_PULL);
+        LocalDateTime expiresAt = LocalDateTime.now().plusMinutes(leaseMinutes);
+
+        List<ClaimTriageDTO> pulled = new ArrayList<>(limit);
+        for (Lease lease : leases.values()) {
+            if (pulled.size() < limit && lease.adjuster.equals(adjuster)) {
+                lease.expiresAt = expiresAt;
+                pulled.add(view(lease.entry, lease));
+            }
+        }
+        while (pulled.size() < limit && !heap.isEmpty()) {
+            Entry top = heap.get(0);
+            removeAt(0);
+            Lease lease = new Lease(top, adjuster, expiresAt);
+            leases.put(top.claim.getClaimId(), lease);
+            pulled.add(view(top, lease));
+        }
+        return pulled;
+    }
+
+    // Hands a leased claim back to the queue; only the holder can release it
+    public synchronized boolean release(Long claimId, String adjuster) {
+        Lease lease = leases.get(claimId);
+        if (lease == null || !lease.adjuster.equals(adjuster)) {
+            return false;
+        }
+        leases.remove(claimId);
+        push(lease.entry);
+        return true;
+    }
+
+    /**
+     * Top of the queue without leasing anything. Walks the heap best-first from the root:
+     * a slot's children are only candidates once it is taken, so at most limit + 1 slots are
+     * ever waiting and the cost is O(limit log limit) whatever the queue length.
+     */
+    public synchronized List<ClaimTriageDTO> peek(int count) {
+        expireLeases();
+        int limit = Math.min(Math.max(count, 1), MAX_PULL);
+        List<ClaimTriageDTO> top = new ArrayList<>(Math.min(limit, heap.size()));
+        if (heap.isEmpty()) {
+            return top;
+        }
+        PriorityQueue<Integer> candidates = new PriorityQueue<>(limit + 1,
+                (a, b) -> Double.compare(heap.get(b).key, heap.get(a).key));
+        candidates.add(0);
+        while (top.size() < limit && !candidates.isEmpty()) {
+            int slot = candidates.poll();
+            top.add(view(heap.get(slot), null));
+            int left = 2 * slot + 1;
+            if (left < heap.size()) {
+                candidates.add(left);
+            }
+            if (left + 1 < heap.size()) {
+                candidates.add(left + 1);
+            }
+        }
+        return top;
+    }
+
+    public synchronized Map<String, Long> getStats() {
+        Map<String, Long> stats = new LinkedHashMap<>();
+        stats.put("queued", (long) heap.size());
+        stats.put("leased", (long) leases.size());
+        return stats;
+    }
+
+    @Scheduled(fixedDelayString = "${claims.triage.lease-sweep-ms:60000}")
+    public synchronized void expireLeases() {
+        LocalDateTime now = LocalDateTime.now();
+        Iterator<Lease> it = leases.values().iterator();
+        while (it.hasNext()) {
+            Lease lease = it.next();
+            if (lease.expiresAt.isBefore(now)) {
+                it.remove();
+                push(lease.entry);
+            }
+        }
+    }
+
+    private void offer(ClaimTriageDTO claim) {
+        push(new Entry(claim, key(claim)));
+    }
+
+    private double key(ClaimTriageDTO claim) {
+        double typeWeight = typeWeights.getOrDefault(claim.getPolicyType(), 0.0);
+        double sumTerm = sumWeight * Math.log10(Math.max(claim.getSumInsured(), 1.0));
+        LocalDateTime uploadedAt = claim.getUploadedAt() != null ? claim.getUploadedAt() : LocalDateTime.now();
+        double uploadedHours = uploadedAt.toEpochSecond(ZoneOffset.UTC) / 3600.0;
+        return typeWeight + sumTerm - ageWeight * uploadedHours;
+    }
+
+    private ClaimTriageDTO view(Entry entry, Lease lease) {
+        ClaimTriageDTO claim = entry.claim;
+        ClaimTriageDTO copy = new ClaimTriageDTO(claim.getClaimId(), claim.getUserId(), claim.getPurchaseId(),
+                claim.getPolicyType(), claim.getSumInsured(), claim.getUploadedAt());
+        double hoursNow = LocalDateTime.now().toEpochSecond(ZoneOffset.UTC) / 3600.0;
+        copy.setPriority(entry.key + ageWeight * hoursNow);
+        if (lease != null) {
+            copy.setLeasedBy(lease.adjuster);
+            copy.setLeaseExpiresAt(lease.expiresAt);
+        }
+        return copy;
+    }
+
+    private void push(Entry entry) {
+        heap.add(entry);
+        int slot = heap.size() - 1;
+        slots.put(entry.claim.getClaimId(), slot);
+        siftUp(slot);
+    }
+
+    private void removeAt(int slot) {
+        int last = heap.size() - 1;
+        Entry removed = heap.get(slot);
+        swap(slot, last);
+        heap.remove(last);
+        slots.remove(removed.claim.getClaimId());
+        if (slot < last) {
+            siftDown(slot);
+            siftUp(slot);
+        }
+    }
+
+    private void siftUp(int slot) {
+        while (slot > 0) {
+            int parent = (slot - 1) / 2;
+            if (heap.get(parent).key >= heap.get(slot).key) {
+                return;
+            }
+            swap(slot, parent);
+            slot = parent;
+        }
+    }
+
+    private void siftDown(int slot) {
+        int size = heap.size();
+        while (true) {
+            int left = 2 * slot + 1;
+            int right = left + 1;
+            int largest = slot;
+            if (left < size && heap.get(left).key > heap.get(largest).key) {
+                largest = left;
+            }
+            if (right < size && heap.get(right).key > heap.get(largest).key) {
+                largest = right;
+            }
+            if (largest == slot) {
+                return;
+            }
+            swap(slot, largest);
+            slot = largest;
+        }
+    }
+
+    private void swap(int i, int j) {
+        if (i == j) {
+            return;
+        }
+        Entry a = heap.get(i);
+        Entry b = heap.get(j);
+        heap.set(i, b);
+        heap.set(j, a);
+        slots.put(b.claim.getClaimId(), i);
+        slots.put(a.claim.getClaimId(), j);
+    }
+
+    // "HEALTH=48,LIFE=72" -> {HEALTH: 48.0, LIFE: 72.0}
+    private static Map<String, Double> parseWeights(String spec) {
+        Map<String, Double> weights = new HashMap<>();
+        for (String part : spec.split(",")) {
+            String[] pair = part.split("=");
+            if (pair.length == 2) {
+                weights.put(pair[0].trim().toUpperCase(Locale.ROOT), Double.parseDouble(pair[1].trim()));
+            }
+        }
+        return weights;
+    }
+
+    private static final class Entry {
+        private final ClaimTriageDTO claim;
+        private final double key;
+
+        private Entry(ClaimTriageDTO claim, double key) {
+            this.claim = claim;
+            this.key = key;
+        }
+    }
+
+    private static final class Lease {
+        private final Entry entry;
+        private final String adjuster;
+        private LocalDateTime expiresAt;
+
+        private Lease(Entry entry, String adjuster, LocalDateTime expiresAt) {
+            this.entry = entry;
+            this.adjuster = adjuster;
+            this.expiresAt = expiresAt;
+        }
+    }
+}
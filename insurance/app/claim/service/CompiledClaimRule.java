@@ -0,0 +1,119 @@
+package com.insurance.app.claim.service;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.function.Predicate;
+import java.util.function.ToDoubleFunction;
+
+import com.insurance.app.claim.dto.ClaimFactsDTO;
+
+/**
+ * A rule parsed from configuration and compiled into a predicate once, at startup.
+ *
+ *   APPROVE: sumInsured <= 50000 && verifiedDocuments >= 1 && priorRejected == 0; REJECT: priorRejected >= 3
+ *
+ * Rules are separated by ';', conditions by '&&'. Numeric fields compare with < <= > >= == !=,
+ * policyType with == and !=.
+ */
+final class CompiledClaimRule implements ClaimRule {
+
+    private static final Map<String, ToDoubleFunction<ClaimFactsDTO>> NUMERIC_FIELDS = Map.of(
+            "sumInsured", ClaimFactsDTO::getSumInsured,
+            "documents", ClaimFactsDTO::getDocuments,
+            "verifiedDocuments", ClaimFactsDTO::getVerifiedDocuments,
+            "unverifiedDocuments", f -> f.getDocuments() - f.getVerifiedDocuments(),
+            "priorClaims", ClaimFactsDTO::getPriorClaims,
+            "priorApproved", ClaimFactsDTO::getPriorApproved,
+            "priorRejected", ClaimFactsDTO::getPriorRejected);
+
+    private static final Map<String, Function<ClaimFactsDTO, String>> TEXT_FIELDS = Map.of(
+            "policyType", ClaimFactsDTO::getPolicyType);
+
+    private static final String[] OPERATORS = {"<=", ">=", "==", "!=", "<", ">"};
+
+    private final String name;
+    private final Decision decision;
+    private final Predicate<ClaimFactsDTO> predicate;
+
+    private CompiledClaimRule(String name, Decision decision, Predicate<ClaimFactsDTO> predicate) {
+        this.name = name;
+        this.decision = decision;
+        this.predicate = predicate;
+    }
+
+    static List<ClaimRule> compileAll(String spec) {
+        List<ClaimRule> rules = new ArrayList<>();
+        if (spec == null || spec.isBlank()) {
+            return rules;
+        }
+        for (String part : spec.split(";")) {
+            if (!part.isBlank()) {
+                rules.add(compile(part.trim()));
+            }
+        }
+        return rules;
+    }
+
+    static ClaimRule compile(String text) {
+        int colon = text.indexOf(':');
+        if (colon <= 0) {
+            throw new IllegalArgumentException("Rule needs a decision before ':': " + text);
+        }
+        Decision decision = Decision.valueOf(text.substring(0, colon).trim().toUpperCase(Locale.ROOT));
+        Predicate<ClaimFactsDTO> predicate = f -> true;
+        for (String condition : text.substring(colon + 1).split("&&")) {
+            predicate = predicate.and(condition(condition.trim(), text));
+        }
+        return new CompiledClaimRule(text, decision, predicate);
+    }
+
+    private static Predicate<ClaimFactsDTO> condition(String condition, String rule) {
+        for (String op : OPERATORS) {
+            int at = condition.indexOf(op);
+            if (at <= 0) {
+                continue;
+            }
+            String field = condition.substring(0, at).trim();
+            String value = condition.substring(at + op.length()).trim();
+
+            ToDoubleFunction<ClaimFactsDTO> numeric = NUMERIC_FIELDS.get(field);
+            if (numeric != null) {
+                double limit = Double.parseDouble(value);
+                switch (op) {
+                    case "<=": return f -> numeric.applyAsDouble(f) <= limit;
+                    case ">=": return f -> numeric.applyAsDouble(f) >= limit;
+                    case "<":  return f -> numeric.applyAsDouble(f) < limit;
+                    case ">":  return f -> numeric.applyAsDouble(f) > limit;
+                    case "==": return f -> numeric.applyAsDouble(f) == limit;
+                    default:   return f -> numeric.applyAsDouble(f) != limit;
+                }
+            }
+            Function<ClaimFactsDTO, String> text = TEXT_FIELDS.get(field);
+            if (text != null && ("==".equals(op) || "!=".equals(op))) {
+                String expected = value.toUpperCase(Locale.ROOT);
+                boolean equal = "==".equals(op);
+                return f -> expected.equals(text.apply(f)) == equal;
+            }
+            throw new IllegalArgumentException("Unknown field or operator in '" + condition + "' of rule: " + rule);
+        }
+        throw new IllegalArgumentException("No operator in '" + condition + "' of rule: " + rule);
+    }
+
+    @Override
+    public String getName() {
+        return name;
+    }
+
+    @Override
+    public Decision getDecision() {
+        return decision;
+    }
+
+    @Override
+    public boolean matches(ClaimFactsDTO facts) {
+        return predicate.test(facts);
+    }
+}
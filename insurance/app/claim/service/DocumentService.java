@@ -16,12 +16,16 @@ import org.springframework.stereotype.Service;
 import org.springframework.web.multipart.MultipartFile;
 
 import java.io.IOException;
+import java.io.InputStream;
 import java.nio.file.*;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
 
 
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.ResponseEntity;
 
+import java.util.HexFormat;
 import java.util.List;
 import java.util.stream.Collectors;
 
@@ -37,6 +41,15 @@ public class DocumentService {
 
     private final DocumentRepository documentRepository;
 
+    @Autowired
+    private ClaimAutoAdjudicator claimAutoAdjudicator;
+
+    @Autowired
+    private ClaimRiskScorer claimRiskScorer;
+
+    @Autowired
+    private ClaimArchiveService claimArchiveService;
+
     @Value("${document.upload.dir:uploads}")
     private String uploadDir;
 
@@ -51,10 +64,13 @@ public class DocumentService {
                 .claim(claim)
                 .documentType(dto.getDocumentType())
                 .fileUrl(dto.getFileUrl())
+                .contentHash(hashStoredFile(dto.getFileUrl()))
                 .verified(false)
                 .build();
 
-        return DocumentDTO.fromEntity(documentRepository.save(doc));
+        Document saved = documentRepository.save(doc);
+        claimRiskScorer.documentStored(claim.getClaimId(), saved.getContentHash());
+        return DocumentDTO.fromEntity(saved);
     }
 
     public List<DocumentDTO> getAllDocuments() {
@@ -64,9 +80,11 @@ public class DocumentService {
     }
 
     public List<DocumentDTO> getDocumentsByClaim(Long claimId) {
-        return documentRepository.findByClaim_ClaimId(claimId).stream()
+        List<DocumentDTO> documents = documentRepository.findByClaim_ClaimId(claimId).stream()
                 .map(DocumentDTO::fromEntity)
                 .collect(Collectors.toList());
+        // Archived claims carry their documents with them
+        return documents.isEmpty() ? claimArchiveService.findArchivedDocuments(claimId) : documents;
     }
 
     public List<DocumentDTO> getDocumentsByUser(Long userId) {
@@ -92,6 +110,28 @@ public class DocumentService {
         }
     }
 
+    // SHA-256 of a file in the upload directory, or null when the URL points elsewhere
+    private String hashStoredFile(String fileUrl) {
+        if (fileUrl == null) {
+            return null;
+        }
+        Path path = Paths.get(uploadDir).resolve(Paths.get(fileUrl).getFileName());
+        if (!Files.isRegularFile(path)) {
+            return null;
+        }
+        try (InputStream in = Files.newInputStream(path)) {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            byte[] buffer = new byte[8192];
+            int read;
+            while ((read = in.read(buffer)) != -1) {
+                digest.update(buffer, 0, read);
+            }
+            return HexFormat.of().formatHex(digest.digest());
+        } catch (IOException | NoSuchAlgorithmException e) {
+            return null;
+        }
+    }
+
     public Resource loadFile(String fileName) {
         try {
             Path filePath = Paths.get(uploadDir).resolve(fileName).normalize();
@@ -129,7 +169,10 @@ public class DocumentService {
 
         String newUrl = storeFile(file);
         existing.setFileUrl(newUrl);
-        return DocumentDTO.fromEntity(documentRepository.save(existing));
+        existing.setContentHash(hashStoredFile(newUrl));
+        Document saved = documentRepository.save(existing);
+        claimRiskScorer.documentStored(saved.getClaim().getClaimId(), saved.getContentHash());
+        return DocumentDTO.fromEntity(saved);
     }
 
     public DocumentDTO verifyDocument(Long id) {
@@ -137,6 +180,8 @@ public class DocumentService {
                 .orElseThrow(() -> new RuntimeException("Document not found"));
         doc.setVerified(true);
         Document updated = documentRepository.save(doc);
+        // A newly verified document may be what a rule was waiting for
+        claimAutoAdjudicator.submit(updated.getClaim().getClaimId());
         return DocumentDTO.fromEntity(updated);
     }
 }
\ No newline at end of file
@@ -5,24 +5,36 @@ import com.insurance.app.claim.repository.NotificationRepository;
 import com.insurance.app.auth.entity.Users;
 import com.insurance.app.auth.repository.UserRepository;
 import com.insurance.app.claim.entity.Claim;
+import com.insurance.app.claim.entity.ClaimEvent;
+import com.insurance.app.claim.entity.ClaimEventType;
 import com.insurance.app.claim.repository.ClaimRepository;
 import lombok.RequiredArgsConstructor;
 
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.ResponseEntity;
+import org.springframework.jdbc.core.JdbcTemplate;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
 
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
 import java.util.List;
 
 @Service
 @RequiredArgsConstructor
-public class NotificationService {
+public class NotificationService implements ClaimEventSubscriber {
 	@Autowired
     private NotificationRepository notificationRepository;
 	@Autowired
     private UserRepository userRepository;
 	@Autowired
     private ClaimRepository claimRepository;
+	@Autowired
+    private JdbcTemplate jdbcTemplate;
+	@Autowired
+    private ClaimEventStream claimEventStream;
 
     public ResponseEntity<Notification> sendNotification(Notification notification, Long userId, Long claimId) {
         Users user = userRepository.findById(userId).orElse(null);
@@ -39,7 +51,65 @@ public class NotificationService {
             notification.setClaim(null);
         }
 
-        return ResponseEntity.ok(notificationRepository.save(notification));
+        Notification saved = notificationRepository.save(notification);
+        claimEventStream.publishNotification(userId, claimId, saved.getMessage());
+        return ResponseEntity.ok(saved);
+    }
+
+    // Approval and rejection notices for a relayed batch of claim events, in one write
+    @Override
+    public void onClaimEvents(List<ClaimEvent> events) {
+        List<Long> userIds = new ArrayList<>();
+        List<Long> claimIds = new ArrayList<>();
+        List<String> messages = new ArrayList<>();
+        for (ClaimEvent event : events) {
+            if (event.getEventType() == ClaimEventType.APPROVED || event.getEventType() == ClaimEventType.REJECTED) {
+                userIds.add(event.getUserId());
+                claimIds.add(event.getClaimId());
+                messages.add("Your claim #" + event.getClaimId() + " has been " + event.getToStatus());
+            }
+        }
+        sendClaimNotifications(userIds, claimIds, messages);
+    }
+
+    // The notification rows are part of the relay transaction, so a failed insert redelivers the batch
+    @Override
+    public boolean writesInTransaction() {
+        return true;
+    }
+
+    /**
+     * Writes one notification per claim in a single JDBC batch.
+     * Callers already know the user and claim ids, so nothing is re-read.
+     * Inside a transaction the pushes wait for its commit, so a rolled-back write is never announced.
+     */
+    public void sendClaimNotifications(List<Long> userIds, List<Long> claimIds, List<String> messages) {
+        if (claimIds.isEmpty()) {
+            return;
+        }
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+        List<Object[]> rows = new ArrayList<>(claimIds.size());
+        for (int i = 0; i < claimIds.size(); i++) {
+            rows.add(new Object[]{userIds.get(i), claimIds.get(i), messages.get(i), false, now});
+        }
+        jdbcTemplate.batchUpdate(
+                "INSERT INTO notification (user_id, claim_id, message, is_read, created_at) VALUES (?, ?, ?, ?, ?)",
+                rows);
+        Runnable publish = () -> {
+            for (int i = 0; i < claimIds.size(); i++) {
+                claimEventStream.publishNotification(userIds.get(i), claimIds.get(i), messages.get(i));
+            }
+        };
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    publish.run();
+                }
+            });
+        } else {
+            publish.run();
+        }
     }
 
     public ResponseEntity<List<Notification>> getNotificationsForUser(Long userId) {
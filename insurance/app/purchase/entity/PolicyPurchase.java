@@ -18,7 +18,12 @@ import com.insurance.app.catalog.entity.Policy;
 @AllArgsConstructor
 @Builder
 @Table(name = "policy_purchases")
+@JsonIgnoreProperties({"hibernateLazyInitializer", "handler"})
+@NamedEntityGraph(name = PolicyPurchase.DETAILS_GRAPH, attributeNodes = {
+        @NamedAttributeNode("user"), @NamedAttributeNode("bikePolicy"), @NamedAttributeNode("carPolicy"),
+        @NamedAttributeNode("healthPolicy"), @NamedAttributeNode("lifePolicy")})
 public class PolicyPurchase {
+    public static final String DETAILS_GRAPH = "PolicyPurchase.details";
 
     @Id
     @GeneratedValue(strategy = GenerationType.IDENTITY)
@@ -28,28 +33,28 @@ public class PolicyPurchase {
     private LocalDate expiryDate;
     private String status ="ACTIVE";  // ACTIVE , CANCELLED ,EXPIRED
 
-    @ManyToOne
+    @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "user_id")
-    @JsonIgnoreProperties({"password", "authorities", "policyPurchases"}) // adjust to your Users fields
+    @JsonIgnoreProperties({"password", "authorities", "policyPurchases", "hibernateLazyInitializer", "handler"}) // adjust to your Users fields
     private Users user;
 
-    @ManyToOne
+    @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "bike_policy_id")
-    @JsonIgnoreProperties({"purchase", "user"})
+    @JsonIgnoreProperties({"purchase", "user", "hibernateLazyInitializer", "handler"})
     private Bike bikePolicy;
 
-    @ManyToOne
+    @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "car_policy_id")
-    @JsonIgnoreProperties({"purchase", "user"})
+    @JsonIgnoreProperties({"purchase", "user", "hibernateLazyInitializer", "handler"})
     private Car carPolicy;
 
-    @ManyToOne
+    @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "health_policy_id")
-    @JsonIgnoreProperties({"purchase", "user"})
+    @JsonIgnoreProperties({"purchase", "user", "hibernateLazyInitializer", "handler"})
     private HealthInsurance healthPolicy;
 
-    @ManyToOne
+    @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "life_policy_id")
-    @JsonIgnoreProperties({"purchase", "user"})
+    @JsonIgnoreProperties({"purchase", "user", "hibernateLazyInitializer", "handler"})
     private LifeInsurance lifePolicy;
 }
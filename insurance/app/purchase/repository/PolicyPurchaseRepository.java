@@ -1,21 +1,34 @@
 package com.insurance.app.purchase.repository;
 
 import com.insurance.app.purchase.entity.PolicyPurchase;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.stereotype.Repository;
 
 import java.time.LocalDate;
 import java.util.List;
+import java.util.Optional;
 
 @Repository
 public interface PolicyPurchaseRepository extends JpaRepository<PolicyPurchase, Long> {
 
+    // single purchase with its user and policy, for reads returned to clients and for updates that touch the policy
+    @EntityGraph(PolicyPurchase.DETAILS_GRAPH)
+    Optional<PolicyPurchase> findDetailedByPurchaseId(Long purchaseId);
+
+    // list reads are returned to clients with the user and policy, so fetch them in the same select
+    @EntityGraph(PolicyPurchase.DETAILS_GRAPH)
     List<PolicyPurchase> findByUser_IdAndExpiryDateAfter(Long userId, LocalDate date);
 
+    @EntityGraph(PolicyPurchase.DETAILS_GRAPH)
     List<PolicyPurchase> findByUser_IdAndExpiryDateBefore(Long userId, LocalDate date);
+    @EntityGraph(PolicyPurchase.DETAILS_GRAPH)
     List<PolicyPurchase> findByUser_IdAndStatusAndExpiryDateAfter(Long userId, String status, LocalDate date);
+    @EntityGraph(PolicyPurchase.DETAILS_GRAPH)
     List<PolicyPurchase> findByUser_IdAndStatus(Long userId, String status);
+    @EntityGraph(PolicyPurchase.DETAILS_GRAPH)
     List<PolicyPurchase> findByUser_Id(Long userId);
 
+    @EntityGraph(PolicyPurchase.DETAILS_GRAPH)
     List<PolicyPurchase> findByUser_IdAndStatusIn(Long userId, List<String> list);
 }
@@ -72,7 +72,7 @@ public class PolicyPurchaseService {
     }
 
     public PolicyPurchase getPurchaseById(Long id) {
-        return purchaseRepository.findById(id)
+        return purchaseRepository.findDetailedByPurchaseId(id)
                 .orElseThrow(() -> new ResourceNotFoundException(
                         messageUtil.getMessage("purchase.notfound", id)
                 ));
@@ -113,7 +113,7 @@ public class PolicyPurchaseService {
     }
 
     public void cancelPurchase(Long purchaseId) {
-        PolicyPurchase purchase = purchaseRepository.findById(purchaseId)
+        PolicyPurchase purchase = purchaseRepository.findDetailedByPurchaseId(purchaseId)
                 .orElseThrow(() -> new ResourceNotFoundException(
                         messageUtil.getMessage("purchase.notfound", purchaseId)
                 ));